@@ -31,19 +31,12 @@ OPENAPI_DOCUMENT=$(B)/openapi/openapi.yaml
 
 JAR_FILE=redfish-generator/target/redfish-codegen-0.3.1-SNAPSHOT.jar
 JVM_ARGS=-DmaxYamlCodePoints=6291456 -Dfile.encoding=UTF-8
+CACHE_DIRECTORY=$(B)/.codegen-cache
 
 ifdef CARGO_FEATURE_CLIENT
 JAR_ARGS += -clientMode
 endif
 
-define redfish_models
-(cd $1 && java $(JVM_ARGS) -jar ../$(JAR_FILE) \
-	-specDirectory ../$(B) \
-	-specVersion $(REDFISH_VERSION) \
-	-registryDirectory ../registry \
-	-component $2 $(JAR_ARGS))
-endef
-
 CODEGEN_DEPENDENCIES += $(B)/openapi/openapi.yaml
 CODEGEN_DEPENDENCIES += registry/DSP8011_$(REGISTRY_VERSION).pdf
 CODEGEN_DEPENDENCIES += $(JAR_FILE)
@@ -51,11 +44,18 @@ CODEGEN_DEPENDENCIES += $(JAR_FILE)
 models: redfish-models/src/lib.rs
 routing: redfish-axum/src/lib.rs
 
-redfish-models/src/lib.rs: $(CODEGEN_DEPENDENCIES)
-	$(call redfish_models,redfish-models,models)
-
-redfish-axum/src/lib.rs: $(CODEGEN_DEPENDENCIES)
-	$(call redfish_models,redfish-axum,routing)
+# Both crates are generated by a single invocation of the generator, so the
+# specification is only parsed and resolved once.
+redfish-models/src/lib.rs redfish-axum/src/lib.rs: $(B)/.codegen.lock
+
+$(B)/.codegen.lock: $(CODEGEN_DEPENDENCIES)
+	java $(JVM_ARGS) -jar $(JAR_FILE) \
+		-specDirectory $(B) \
+		-specVersion $(REDFISH_VERSION) \
+		-registryDirectory registry \
+		-cacheDirectory $(CACHE_DIRECTORY) -incremental \
+		-component models=redfish-models,routing=redfish-axum $(JAR_ARGS)
+	touch $@
 
 # Schema
 
@@ -108,6 +108,7 @@ prepare: registry/DSP8011_$(REGISTRY_VERSION).pdf $(B)/openapi/openapi.yaml
 
 $(JAR_FILE): redfish-generator/pom.xml
 	(cd redfish-generator && mvn clean package)
+	rm -rf $(CACHE_DIRECTORY)
 
 .PHONY: get-schema unzip clean prepare
 
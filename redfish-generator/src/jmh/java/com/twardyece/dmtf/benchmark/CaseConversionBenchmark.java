@@ -0,0 +1,81 @@
+package com.twardyece.dmtf.benchmark;
+
+import com.twardyece.dmtf.text.CaseConversion;
+import com.twardyece.dmtf.text.PascalCaseName;
+import com.twardyece.dmtf.text.SnakeCaseName;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Case conversion of the words that make up Redfish schema identifiers, e.g. "PCIeDevice" or "IPv6StaticAddress".
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CaseConversionBenchmark {
+    private static final Pattern VERSION = Pattern.compile("^v?[0-9]+$");
+    private List<String> pascalCaseWords;
+    private List<String> snakeCaseWords;
+    private List<String> mixedCaseWords;
+
+    @Setup
+    public void setup() {
+        this.pascalCaseWords = Corpus.identifiers().stream()
+                .flatMap((identifier) -> Arrays.stream(identifier.split("[_-]")))
+                .filter((word) -> !word.isEmpty() && !VERSION.matcher(word).matches())
+                .filter((word) -> Character.isUpperCase(word.charAt(0)))
+                .distinct()
+                .toList();
+        this.snakeCaseWords = this.pascalCaseWords.stream()
+                .map((word) -> new SnakeCaseName(new PascalCaseName(word)).toString())
+                .toList();
+        List<String> mixedCaseWords = new ArrayList<>(this.pascalCaseWords);
+        mixedCaseWords.addAll(this.snakeCaseWords);
+        this.mixedCaseWords = mixedCaseWords;
+    }
+
+    @Benchmark
+    public void parsePascalCase(Blackhole blackhole) {
+        for (String word : this.pascalCaseWords) {
+            blackhole.consume(new PascalCaseName(word));
+        }
+    }
+
+    @Benchmark
+    public void parseSnakeCase(Blackhole blackhole) {
+        for (String word : this.snakeCaseWords) {
+            blackhole.consume(new SnakeCaseName(word));
+        }
+    }
+
+    @Benchmark
+    public void pascalCaseToSnakeCase(Blackhole blackhole) {
+        for (String word : this.pascalCaseWords) {
+            blackhole.consume(new SnakeCaseName(new PascalCaseName(word)).toString());
+        }
+    }
+
+    // Exercises the fallback from one case to the next, as CaseConversion does for names of unknown case.
+    @Benchmark
+    public void caseConversionToSnakeCase(Blackhole blackhole) {
+        for (String word : this.mixedCaseWords) {
+            blackhole.consume(CaseConversion.toSnakeCase(word));
+        }
+    }
+
+    @Benchmark
+    public void caseConversionToPascalCase(Blackhole blackhole) {
+        for (String word : this.mixedCaseWords) {
+            blackhole.consume(CaseConversion.toPascalCase(word));
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.twardyece.dmtf.benchmark;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+
+/**
+ * Access to the corpora the benchmarks are fed with. These are taken from the Redfish Schema Bundle (DSP8010), so that
+ * the benchmarks exercise the identifiers and URIs the generator actually sees.
+ */
+final class Corpus {
+    private Corpus() {}
+
+    // Schema identifiers, as they appear in the components of openapi.yaml
+    static List<String> identifiers() { return lines("identifiers.txt"); }
+
+    // Resource URIs, as they appear in the paths of openapi.yaml
+    static List<String> uris() { return lines("uris.txt"); }
+
+    // A privilege registry in the format of the DSP8011 Redfish_*_PrivilegeRegistry.json
+    static Path privilegeRegistry() throws IOException {
+        Path file = Files.createTempFile("Redfish_1.3.0_PrivilegeRegistry", ".json");
+        file.toFile().deleteOnExit();
+        try (InputStream stream = open("Redfish_1.3.0_PrivilegeRegistry.json")) {
+            Files.copy(stream, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return file;
+    }
+
+    private static List<String> lines(String resource) {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(open(resource), StandardCharsets.UTF_8))) {
+            return reader.lines()
+                    .map(String::trim)
+                    .filter((line) -> !line.isEmpty() && !line.startsWith("#"))
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static InputStream open(String resource) {
+        InputStream stream = Corpus.class.getResourceAsStream("/benchmark/" + resource);
+        if (null == stream) {
+            throw new RuntimeException("Missing benchmark corpus " + resource);
+        }
+        return stream;
+    }
+}
@@ -0,0 +1,94 @@
+package com.twardyece.dmtf.benchmark;
+
+import com.twardyece.dmtf.FileFactory;
+import com.twardyece.dmtf.ModuleFile;
+import com.twardyece.dmtf.model.ModelResolver;
+import com.twardyece.dmtf.model.context.ModelContext;
+import com.twardyece.dmtf.policies.*;
+import com.twardyece.dmtf.rust.RustType;
+import com.twardyece.dmtf.specification.JsonSchemaIdentifier;
+import com.twardyece.dmtf.specification.JsonSchemaMapper;
+import com.twardyece.dmtf.specification.ODataTypeIdentifier;
+import com.twardyece.dmtf.specification.SimpleModelIdentifierFactory;
+import com.twardyece.dmtf.specification.ir.SchemaInterner;
+import com.twardyece.dmtf.template.CompiledTemplateEngine;
+import io.swagger.v3.oas.models.media.Schema;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Application of the model generation policies that visit one model at a time, as RedfishCodegen applies them, either
+ * fused into one pass, or each in a pass of its own. Each invocation applies the policies to a copy of the model map, but
+ * the models themselves are shared, so only the first invocation removes properties from them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ModelPolicyBenchmark {
+    private static final Pattern VERSIONED_MODEL = Pattern.compile("^(?<schema>[A-Za-z0-9]+)_v[0-9_]+_(?<model>[A-Za-z0-9]+)$");
+    @Param({"fused", "sequential"})
+    public String pipeline;
+    private Map<String, ModuleFile<ModelContext>> models;
+    private IModelGenerationPolicy[] policies;
+
+    @Setup
+    public void setup() {
+        ModelResolver modelResolver = ModelResolverBenchmark.newModelResolver();
+        FileFactory fileFactory = TemplateRenderingBenchmark.newFileFactory(modelResolver, new CompiledTemplateEngine());
+
+        Map<String, List<String>> schemaModels = new TreeMap<>();
+        for (String identifier : Corpus.identifiers()) {
+            Matcher matcher = VERSIONED_MODEL.matcher(identifier);
+            if (matcher.find()) {
+                schemaModels.computeIfAbsent(matcher.group("schema"), (k) -> new ArrayList<>()).add(identifier);
+            }
+        }
+
+        SchemaInterner interner = new SchemaInterner();
+        this.models = new HashMap<>();
+        for (List<String> models : schemaModels.values()) {
+            for (String identifier : models) {
+                RustType rustType = modelResolver.resolvePath(identifier);
+                Schema schema = identifier.endsWith("Type") || identifier.endsWith("Types")
+                        ? TemplateRenderingBenchmark.makeEnum(identifier)
+                        : TemplateRenderingBenchmark.makeStruct(identifier, models);
+                ModuleFile<ModelContext> file = fileFactory.makeModelFile(rustType, interner.intern(schema));
+                if (null != file) {
+                    this.models.put(identifier, file);
+                }
+            }
+        }
+
+        JsonSchemaMapper[] jsonSchemaMappers = new JsonSchemaMapper[2];
+        jsonSchemaMappers[0] = new JsonSchemaMapper(new SimpleModelIdentifierFactory(
+                Pattern.compile("Redfish(?<model>[a-zA-Z0-9]*)"), "model"), "redfish-error.v1_0_2.json");
+        jsonSchemaMappers[1] = new JsonSchemaMapper(new SimpleModelIdentifierFactory(
+                Pattern.compile("odata-v4_(?<model>[a-zA-Z0-9]*)"), "model"), "odata.v4_0_5.json");
+        this.policies = new IModelGenerationPolicy[4];
+        this.policies[0] = new ModelDeletionPolicy(Pattern.compile("odata_v?4_0_[0-9]_|_(EventRecord)?Oem(Actions)?"));
+        this.policies[1] = new ModelDeletionPolicy(Pattern.compile("_1$"), false);
+        this.policies[2] = new ODataPropertyPolicy(new ODataTypeIdentifier(), false);
+        this.policies[3] = new ModelMetadataPolicy(new JsonSchemaIdentifier(jsonSchemaMappers));
+    }
+
+    @Benchmark
+    public void applyPolicies(Blackhole blackhole) {
+        Map<String, ModuleFile<ModelContext>> models = new HashMap<>(this.models);
+        if ("fused".equals(this.pipeline)) {
+            new ModelPolicyPipeline(this.policies).apply(models);
+        } else {
+            for (IModelGenerationPolicy policy : this.policies) {
+                policy.apply(models);
+            }
+        }
+        blackhole.consume(models.size());
+    }
+}
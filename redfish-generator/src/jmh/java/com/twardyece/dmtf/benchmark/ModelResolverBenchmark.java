@@ -0,0 +1,108 @@
+package com.twardyece.dmtf.benchmark;
+
+import com.twardyece.dmtf.model.ModelResolver;
+import com.twardyece.dmtf.model.mapper.*;
+import com.twardyece.dmtf.rust.RustType;
+import com.twardyece.dmtf.specification.SimpleModelIdentifierFactory;
+import com.twardyece.dmtf.specification.ir.SchemaInterner;
+import com.twardyece.dmtf.specification.ir.SchemaNode;
+import com.twardyece.dmtf.text.SnakeCaseName;
+import io.swagger.v3.oas.models.media.ArraySchema;
+import io.swagger.v3.oas.models.media.BooleanSchema;
+import io.swagger.v3.oas.models.media.IntegerSchema;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.media.StringSchema;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Resolution of schema identifiers and schemas to Rust types, and back again.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ModelResolverBenchmark {
+    private List<String> identifiers;
+    private List<SchemaNode> schemas;
+    private List<RustType> types;
+    private ModelResolver modelResolver;
+
+    @Setup
+    public void setup() {
+        this.identifiers = Corpus.identifiers();
+        SchemaInterner interner = new SchemaInterner();
+        this.schemas = new ArrayList<>();
+        for (String identifier : this.identifiers) {
+            String ref = "#/components/schemas/" + identifier;
+            this.schemas.add(interner.intern(new Schema().$ref(ref)));
+            this.schemas.add(interner.intern(new ArraySchema().items(new Schema().$ref(ref))));
+        }
+        this.schemas.add(interner.intern(new StringSchema()));
+        this.schemas.add(interner.intern(new IntegerSchema()));
+        this.schemas.add(interner.intern(new BooleanSchema()));
+
+        this.modelResolver = newModelResolver();
+        this.types = this.identifiers.stream().map(this.modelResolver::resolvePath).toList();
+    }
+
+    /**
+     * A ModelResolver configured with the same mappers as RedfishCodegen.
+     */
+    static ModelResolver newModelResolver() {
+        SimpleModelIdentifierFactory redfishModelIdentifierFactory = new SimpleModelIdentifierFactory(
+                Pattern.compile("Redfish(?<model>[a-zA-Z0-9]*)"), "model");
+        SimpleModelIdentifierFactory odataModelIdentifierFactory = new SimpleModelIdentifierFactory(
+                Pattern.compile("odata-v4_(?<model>[a-zA-Z0-9]*)"), "model");
+
+        IModelTypeMapper[] typeMappers = new IModelTypeMapper[5];
+        typeMappers[0] = new PromotedSchemaModelTypeMapper(Map.of());
+        typeMappers[1] = new VersionedModelTypeMapper();
+        typeMappers[2] = new SimpleModelTypeMapper(redfishModelIdentifierFactory, new SnakeCaseName("redfish"));
+        typeMappers[3] = new SimpleModelTypeMapper(odataModelIdentifierFactory, new SnakeCaseName("odata_v4"));
+        typeMappers[4] = new UnversionedModelTypeMapper();
+
+        IModelModelMapper[] modelMappers = new IModelModelMapper[2];
+        modelMappers[0] = new NamespaceMapper(Pattern.compile("odata_v?4_0_[0-9]_"), "odata-v4_");
+        modelMappers[1] = new NamespaceMapper(Pattern.compile("_1$"), "");
+        return new ModelResolver(typeMappers, modelMappers);
+    }
+
+    // Every identifier is resolved by a fresh resolver, so that nothing is served from its cache.
+    @Benchmark
+    public void resolvePathUncached(Blackhole blackhole) {
+        ModelResolver modelResolver = newModelResolver();
+        for (String identifier : this.identifiers) {
+            blackhole.consume(modelResolver.resolvePath(identifier));
+        }
+    }
+
+    @Benchmark
+    public void resolvePath(Blackhole blackhole) {
+        for (String identifier : this.identifiers) {
+            blackhole.consume(this.modelResolver.resolvePath(identifier));
+        }
+    }
+
+    @Benchmark
+    public void resolveSchema(Blackhole blackhole) {
+        for (SchemaNode schema : this.schemas) {
+            blackhole.consume(this.modelResolver.resolveSchema(schema));
+        }
+    }
+
+    @Benchmark
+    public void reverseResolveIdentifier(Blackhole blackhole) {
+        for (RustType type : this.types) {
+            blackhole.consume(this.modelResolver.reverseResolveIdentifier(type));
+        }
+    }
+}
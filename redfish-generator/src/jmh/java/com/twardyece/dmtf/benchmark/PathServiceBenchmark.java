@@ -0,0 +1,55 @@
+package com.twardyece.dmtf.benchmark;
+
+import com.twardyece.dmtf.component.PathService;
+import com.twardyece.dmtf.component.PathTrie;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Determining the mountpoint of every resource URI in the Redfish service, as ComponentRepository does, by scanning the
+ * set of paths and by querying an index of them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PathServiceBenchmark {
+    private Set<String> paths;
+    private List<String> children;
+    private PathService pathService;
+    private PathTrie<String> trie;
+
+    @Setup
+    public void setup() {
+        List<String> uris = Corpus.uris();
+        this.paths = new LinkedHashSet<>(uris);
+        // Actions are mounted on the resource they act on, which may be several components up the path.
+        this.children = uris.stream()
+                .filter((uri) -> !"/redfish/v1".equals(uri))
+                .flatMap((uri) -> List.of(uri, uri + "/Actions/Resource.Reset").stream())
+                .toList();
+        this.pathService = new PathService();
+        this.trie = PathTrie.of(this.paths);
+    }
+
+    @Benchmark
+    public void getClosestParent(Blackhole blackhole) {
+        for (String path : this.children) {
+            blackhole.consume(this.pathService.getClosestParent(this.paths, path));
+        }
+    }
+
+    @Benchmark
+    public void getClosestParentIndexed(Blackhole blackhole) {
+        for (String path : this.children) {
+            blackhole.consume(this.trie.getClosestParent(path));
+        }
+    }
+}
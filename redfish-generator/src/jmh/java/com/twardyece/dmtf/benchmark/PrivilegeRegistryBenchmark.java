@@ -0,0 +1,60 @@
+package com.twardyece.dmtf.benchmark;
+
+import com.twardyece.dmtf.CratePath;
+import com.twardyece.dmtf.component.PrivilegeRegistry;
+import com.twardyece.dmtf.text.PascalCaseName;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Looking up the privileges of each component, as StandardComponentMatcher does for every path in the service.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PrivilegeRegistryBenchmark {
+    private List<PascalCaseName> components;
+    private PrivilegeRegistry privilegeRegistry;
+
+    @Setup
+    public void setup() throws IOException {
+        Path file = Corpus.privilegeRegistry();
+        this.privilegeRegistry = new PrivilegeRegistry(file, CratePath.parse("redfish_core::privilege"));
+
+        // Every entity in the registry, along with the collections of those entities, which have no mapping of their
+        // own in the registry.
+        this.components = new ArrayList<>();
+        JSONArray mappings = new JSONObject(Files.readString(file)).getJSONArray("Mappings");
+        for (int i = 0; i < mappings.length(); ++i) {
+            String entity = mappings.getJSONObject(i).getString("Entity");
+            this.components.add(new PascalCaseName(entity));
+            this.components.add(new PascalCaseName(entity + "Collection"));
+        }
+    }
+
+    @Benchmark
+    public void getPrivilegesForComponent(Blackhole blackhole) {
+        for (PascalCaseName component : this.components) {
+            blackhole.consume(this.privilegeRegistry.getPrivilegesForComponent(component));
+        }
+    }
+
+    @Benchmark
+    public void getSubordinatePrivilegeOverridesForComponent(Blackhole blackhole) {
+        for (PascalCaseName component : this.components) {
+            blackhole.consume(this.privilegeRegistry.getSubordinatePrivilegeOverridesForComponent(component));
+        }
+    }
+}
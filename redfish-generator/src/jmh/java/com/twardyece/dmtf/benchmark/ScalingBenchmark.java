@@ -0,0 +1,89 @@
+package com.twardyece.dmtf.benchmark;
+
+import com.twardyece.dmtf.RedfishCodegen;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * End-to-end generation of both crates from a synthetic corpus at multiples of the size of the Redfish specification.
+ * Reports the time of each run, and the peak heap usage during each run. Each run is the only one in a freshly forked
+ * JVM, as it is from the command line, so it starts without the state of an earlier run, such as the generator's static
+ * caches, which would otherwise make later runs faster and be counted in their peak heap.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(value = 3, jvmArgsAppend = {"-DmaxYamlCodePoints=67108864", "-Dorg.slf4j.simpleLogger.defaultLogLevel=warn"})
+public class ScalingBenchmark {
+    @Param({"1", "5", "20"})
+    public int factor;
+
+    private Path corpus;
+    private Path output;
+    private SyntheticCorpus syntheticCorpus;
+
+    @Setup(Level.Trial)
+    public void writeCorpus() throws IOException {
+        this.corpus = Files.createTempDirectory("redfish-corpus");
+        this.syntheticCorpus = new SyntheticCorpus(SyntheticCorpus.Scale.REDFISH.times(this.factor));
+        this.syntheticCorpus.write(this.corpus);
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteCorpus() throws IOException {
+        delete(this.corpus);
+    }
+
+    @Setup(Level.Iteration)
+    public void resetPeakHeap() throws IOException {
+        this.output = Files.createTempDirectory("redfish-output");
+        System.gc();
+        heapPools().forEach(MemoryPoolMXBean::resetPeakUsage);
+    }
+
+    @TearDown(Level.Iteration)
+    public void reportPeakHeap() throws IOException {
+        // The peak of each pool may be reached at a different time, so the sum is an upper bound.
+        long peak = heapPools().stream().mapToLong((pool) -> pool.getPeakUsage().getUsed()).sum();
+        System.out.println();
+        System.out.println("Peak heap at " + this.factor + "x: " + (peak >> 20) + " MiB");
+        delete(this.output);
+    }
+
+    @Benchmark
+    public void generate() {
+        RedfishCodegen.main(new String[]{
+                "-specDirectory", this.syntheticCorpus.getSpecDirectory(this.corpus).toString(),
+                "-specVersion", "2023.3",
+                "-registryDirectory", this.syntheticCorpus.getRegistryDirectory(this.corpus).toString(),
+                "-component", "models=" + this.output.resolve("redfish-models") + ",routing="
+                        + this.output.resolve("redfish-axum"),
+        });
+    }
+
+    private static List<MemoryPoolMXBean> heapPools() {
+        return ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter((pool) -> MemoryType.HEAP == pool.getType())
+                .toList();
+    }
+
+    private static void delete(Path directory) throws IOException {
+        try (Stream<Path> walk = Files.walk(directory)) {
+            for (Path path : walk.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+}
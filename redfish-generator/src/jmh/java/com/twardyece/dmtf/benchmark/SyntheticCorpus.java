@@ -0,0 +1,468 @@
+package com.twardyece.dmtf.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.core.util.Yaml;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Generates a deterministic corpus of Redfish-like inputs for the generator, for use where the DSP8010 and DSP8011
+ * bundles cannot be downloaded. The corpus is laid out the same way as the bundles, once unpacked by generate.mk:
+ * <pre>
+ *     spec/openapi/openapi.yaml, Name.yaml, Name.vX_Y_Z.yaml, NameCollection.yaml, Resource.yaml, odata-v4.yaml
+ *     spec/json-schema/redfish-error.vX_Y_Z.json, odata.vX_Y_Z.json
+ *     spec/csdl/Name_v1.xml
+ *     registry/Name.X.Y.Z.json, Redfish_X.Y.Z_PrivilegeRegistry.json
+ * </pre>
+ * Every resource has a collection, and is mounted in the service at a depth determined by the scale. Resource models
+ * refer to enums, structs and actions of their own schema, and to the models of other schemas.
+ */
+public class SyntheticCorpus {
+    private static final List<String> QUALIFIERS = List.of("", "Rack", "Chassis", "Cooling", "Host", "Edge", "Fabric",
+            "Remote", "Virtual", "Composed");
+    private static final List<String> SUBJECTS = List.of("Power", "Thermal", "Storage", "Network", "Memory",
+            "Processor", "Fan", "Sensor", "Drive", "Volume", "Port", "Switch", "Endpoint", "Zone", "Battery", "Cable",
+            "Circuit", "Control", "Facility", "Outlet", "PCIe", "NVMe", "IPv6", "VLan", "Certificate", "Session",
+            "Account", "Event", "Log", "Task", "Update", "Telemetry", "Metric", "Trigger", "License", "Key", "Boot",
+            "Bios", "Media", "Serial");
+    private static final List<String> KINDS = List.of("Device", "Domain", "Controller", "Adapter", "Metrics", "Group",
+            "Policy", "Profile", "Supply", "Unit", "Service", "Interface", "Function", "Module", "Inventory", "Chunk",
+            "Pool", "Set", "Entry", "Definition");
+    private static final List<String> METHODS = List.of("GET", "HEAD", "POST", "PUT", "PATCH", "DELETE");
+    private static final Pattern PATH_PARAMETER = Pattern.compile("\\{([A-Za-z0-9]+)}");
+
+    private final Scale scale;
+    private final List<String> names;
+    private final ObjectMapper yaml = Yaml.mapper();
+    private final ObjectMapper json = Json.mapper();
+
+    /**
+     * The size of a generated corpus.
+     * @param models The number of resource schemas
+     * @param properties The number of additional properties on each resource model
+     * @param uriDepth The number of resources on the longest path in the service, below the service root
+     * @param registryMessages The number of messages in each message registry
+     */
+    public record Scale(int models, int properties, int uriDepth, int registryMessages) {
+        // Roughly the size of a recent DSP8010/DSP8011 release
+        public static final Scale REDFISH = new Scale(250, 12, 4, 100);
+
+        public Scale {
+            if (models < 1 || properties < 0 || uriDepth < 1 || registryMessages < 1) {
+                throw new IllegalArgumentException("Invalid corpus scale " + models + "/" + properties + "/"
+                        + uriDepth + "/" + registryMessages);
+            }
+        }
+
+        /**
+         * @return This scale, with the number of models and the size of the registries multiplied by the factor.
+         */
+        public Scale times(int factor) {
+            return new Scale(this.models * factor, this.properties, this.uriDepth, this.registryMessages * factor);
+        }
+    }
+
+    public SyntheticCorpus(Scale scale) {
+        int capacity = QUALIFIERS.size() * SUBJECTS.size() * KINDS.size();
+        if (scale.models() > capacity) {
+            throw new IllegalArgumentException("At most " + capacity + " models can be generated");
+        }
+
+        this.scale = scale;
+        this.names = new ArrayList<>();
+        for (int i = 0; i < scale.models(); ++i) {
+            int kind = i % KINDS.size();
+            int subject = (i / KINDS.size()) % SUBJECTS.size();
+            int qualifier = i / (KINDS.size() * SUBJECTS.size());
+            this.names.add(QUALIFIERS.get(qualifier) + SUBJECTS.get(subject) + KINDS.get(kind));
+        }
+    }
+
+    public Path getSpecDirectory(Path root) { return root.resolve("spec"); }
+
+    public Path getRegistryDirectory(Path root) { return root.resolve("registry"); }
+
+    /**
+     * Write the corpus beneath the given directory.
+     */
+    public void write(Path root) throws IOException {
+        Path openapi = root.resolve("spec/openapi");
+        Path jsonSchema = root.resolve("spec/json-schema");
+        Path csdl = root.resolve("spec/csdl");
+        Path registry = root.resolve("registry");
+        for (Path directory : List.of(openapi, jsonSchema, csdl, registry)) {
+            Files.createDirectories(directory);
+        }
+
+        writeCommonSchemas(openapi);
+        Map<String, Object> paths = new LinkedHashMap<>();
+        paths.put("/redfish/v1", operations(ref("ServiceRoot.yaml", "ServiceRoot_ServiceRoot"), false));
+        paths.put("/redfish/v1/odata", operations(object(
+                "@odata.context", ref("odata-v4.yaml", "odata-v4_context"),
+                "value", array(object("name", type("string"), "url", type("string")))), false));
+
+        List<Object> mappings = new ArrayList<>();
+        mappings.add(mapping("ServiceRoot", "Login", null));
+        Map<String, String> mountpoints = new HashMap<>();
+        for (int i = 0; i < this.names.size(); ++i) {
+            String name = this.names.get(i);
+            writeResource(openapi, i);
+            Files.writeString(csdl.resolve(name + "_v1.xml"), "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                    + "<edmx:Edmx xmlns:edmx=\"http://docs.oasis-open.org/odata/ns/edmx\" Version=\"4.0\">\n"
+                    + "  <edmx:DataServices>\n"
+                    + "    <Schema xmlns=\"http://docs.oasis-open.org/odata/ns/edm\" Namespace=\"" + name + "\"/>\n"
+                    + "    <Schema xmlns=\"http://docs.oasis-open.org/odata/ns/edm\" Namespace=\"" + name + "."
+                    + version(i) + "\"/>\n"
+                    + "  </edmx:DataServices>\n"
+                    + "</edmx:Edmx>\n", StandardCharsets.UTF_8);
+
+            // Resources are mounted in chains of uriDepth resources, each below an instance of the previous one.
+            String parent = 0 == i % this.scale.uriDepth() ? "/redfish/v1" : mountpoints.get(this.names.get(i - 1));
+            String collection = parent + "/" + name + "s";
+            String instance = collection + "/{" + name + "Id}";
+            mountpoints.put(name, instance);
+            paths.put(collection, withParameters(collection, operations(ref(name + "Collection.yaml",
+                    name + "Collection_" + name + "Collection"), true)));
+            paths.put(instance, withParameters(instance, operations(ref(name + ".yaml", name + "_" + name), true)));
+            String action = instance + "/Actions/" + name + ".Reset";
+            paths.put(action, withParameters(action, ordered("post",
+                    Map.of("responses", Map.of("204", Map.of("description", "Success"))))));
+
+            // Every other resource overrides the privileges of the next one, as if the next were its subordinate.
+            Map<String, Object> entity = mapping(name, "ConfigureComponents",
+                    0 == i % 2 ? this.names.get((i + 1) % this.names.size()) : null);
+            mappings.add(entity);
+            mappings.add(mapping(name + "Collection", "ConfigureComponents", null));
+        }
+
+        Map<String, Object> errorSchemas = new LinkedHashMap<>();
+        errorSchemas.put("RedfishError", required(object("error", required(object(
+                "code", type("string"),
+                "message", type("string"),
+                "@Message.ExtendedInfo", array(ref("Message.v1_1_2.yaml", "Message_v1_1_2_Message"))),
+                "code", "message")), "error"));
+        Map<String, Object> document = document(errorSchemas);
+        document.put("paths", paths);
+        this.yaml.writeValue(openapi.resolve("openapi.yaml").toFile(), document);
+
+        for (String file : List.of("redfish-error.v1_0_1.json", "redfish-error.v1_0_2.json", "odata.v4_0_5.json")) {
+            this.json.writeValue(jsonSchema.resolve(file).toFile(), ordered("$schema",
+                    "http://json-schema.org/draft-07/schema#", "title", file));
+        }
+
+        writeRegistry(registry, "Base", "1.15.0", Math.max(1, this.scale.registryMessages() / 2));
+        writeRegistry(registry, "Base", "1.16.0", this.scale.registryMessages());
+        writeRegistry(registry, "TaskEvent", "1.0.3", this.scale.registryMessages());
+        writeRegistry(registry, "ResourceEvent", "1.3.0", this.scale.registryMessages());
+        Map<String, Object> privileges = new LinkedHashMap<>();
+        privileges.put("@odata.type", "#PrivilegeRegistry.v1_1_4.PrivilegeRegistry");
+        privileges.put("Id", "Redfish_1.5.0_PrivilegeRegistry");
+        privileges.put("Mappings", mappings);
+        this.json.writeValue(registry.resolve("Redfish_1.5.0_PrivilegeRegistry.json").toFile(), privileges);
+    }
+
+    private void writeCommonSchemas(Path openapi) throws IOException {
+        Map<String, Object> odata = new LinkedHashMap<>();
+        odata.put("odata-v4_id", description(type("string"), "The unique identifier for a resource."));
+        odata.put("odata-v4_type", description(type("string"), "The type of a resource."));
+        odata.put("odata-v4_context", description(type("string"), "The OData description of a payload."));
+        odata.put("odata-v4_etag", description(type("string"), "The current ETag of the resource."));
+        odata.put("odata-v4_idRef", description(object("@odata.id", ref("odata-v4.yaml", "odata-v4_id")),
+                "A reference to a resource."));
+        this.yaml.writeValue(openapi.resolve("odata-v4.yaml").toFile(), document(odata));
+
+        Map<String, Object> resource = new LinkedHashMap<>();
+        resource.put("Resource_Id", description(type("string"), "The unique identifier for this resource."));
+        resource.put("Resource_Name", description(type("string"), "The name of the resource or array member."));
+        resource.put("Resource_Description", description(type("string"), "The description of this resource."));
+        resource.put("Resource_Health", enumeration(List.of("OK", "Warning", "Critical")));
+        resource.put("Resource_State", enumeration(List.of("Enabled", "Disabled", "StandbyOffline", "StandbySpare",
+                "InTest", "Starting", "Absent", "UnavailableOffline", "Deferring", "Quiesced", "Updating")));
+        resource.put("Resource_Status", object(
+                "Health", ref("Resource.yaml", "Resource_Health"),
+                "HealthRollup", ref("Resource.yaml", "Resource_Health"),
+                "State", ref("Resource.yaml", "Resource_State")));
+        resource.put("Resource_Oem", description(object(), "The OEM extension property."));
+        this.yaml.writeValue(openapi.resolve("Resource.yaml").toFile(), document(resource));
+
+        for (String version : List.of("v1_0_0", "v1_1_2")) {
+            Map<String, Object> message = new LinkedHashMap<>();
+            message.put("Message_" + version + "_Message", required(object(
+                    "Message", type("string"),
+                    "MessageId", type("string"),
+                    "MessageArgs", array(type("string")),
+                    "Severity", nullable(ref("Resource.yaml", "Resource_Health"))), "MessageId"));
+            this.yaml.writeValue(openapi.resolve("Message." + version + ".yaml").toFile(), document(message));
+        }
+
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put("Event_v1_7_0_Event", object(
+                "@odata.type", ref("odata-v4.yaml", "odata-v4_type"),
+                "Name", ref("Resource.yaml", "Resource_Name"),
+                "Events", array(local("Event_v1_7_0_EventRecord"))));
+        event.put("Event_v1_7_0_EventRecord", object(
+                "Message", type("string"),
+                "MessageId", type("string"),
+                "Oem", local("Event_v1_7_0_EventRecordOem"),
+                "Severity", ref("Resource.yaml", "Resource_Health")));
+        event.put("Event_v1_7_0_EventRecordOem", object());
+        this.yaml.writeValue(openapi.resolve("Event.v1_7_0.yaml").toFile(), document(event));
+
+        Object[] links = new Object[4 + 2 * this.names.size()];
+        links[0] = "@odata.id";
+        links[1] = ref("odata-v4.yaml", "odata-v4_id");
+        links[2] = "Id";
+        links[3] = ref("Resource.yaml", "Resource_Id");
+        for (int i = 0; i < this.names.size(); ++i) {
+            links[4 + 2 * i] = this.names.get(i) + "s";
+            links[5 + 2 * i] = ref("odata-v4.yaml", "odata-v4_idRef");
+        }
+        Map<String, Object> serviceRoot = new LinkedHashMap<>();
+        serviceRoot.put("ServiceRoot_v1_15_0_ServiceRoot", required(object(links), "@odata.id", "Id"));
+        this.yaml.writeValue(openapi.resolve("ServiceRoot.v1_15_0.yaml").toFile(), document(serviceRoot));
+        this.yaml.writeValue(openapi.resolve("ServiceRoot.yaml").toFile(), document(Map.of("ServiceRoot_ServiceRoot",
+                Map.of("anyOf", List.of(ref("ServiceRoot.v1_15_0.yaml", "ServiceRoot_v1_15_0_ServiceRoot"))))));
+    }
+
+    private void writeResource(Path openapi, int index) throws IOException {
+        String name = this.names.get(index);
+        String version = version(index);
+        String prefix = name + "_" + version + "_";
+        String other = this.names.get((index + 1) % this.names.size());
+        String otherVersion = version((index + 1) % this.names.size());
+
+        List<Object> properties = new ArrayList<>(List.of(
+                "@odata.id", ref("odata-v4.yaml", "odata-v4_id"),
+                "@odata.type", ref("odata-v4.yaml", "odata-v4_type"),
+                "@odata.etag", ref("odata-v4.yaml", "odata-v4_etag"),
+                "Id", ref("Resource.yaml", "Resource_Id"),
+                "Name", ref("Resource.yaml", "Resource_Name"),
+                "Description", nullable(ref("Resource.yaml", "Resource_Description")),
+                "Status", ref("Resource.yaml", "Resource_Status"),
+                "Oem", ref("Resource.yaml", "Resource_Oem"),
+                "Mode", local(prefix + "Mode"),
+                "Links", local(prefix + "Links"),
+                "Actions", local(prefix + "Actions"),
+                "Settings", local(prefix + "Settings")));
+        for (int k = 0; k < this.scale.properties(); ++k) {
+            String property = "Property" + k;
+            switch (k % 6) {
+                case 0 -> properties.addAll(List.of(property, description(type("integer"), "A count.")));
+                case 1 -> properties.addAll(List.of(property, description(type("number"), "A reading.")));
+                case 2 -> properties.addAll(List.of(property, type("boolean")));
+                case 3 -> properties.addAll(List.of(property, array(type("string"))));
+                case 4 -> properties.addAll(List.of(property, local(prefix + "Mode")));
+                default -> properties.addAll(List.of(property, ref(other + "." + otherVersion + ".yaml",
+                        other + "_" + otherVersion + "_Settings")));
+            }
+        }
+
+        Map<String, Object> schemas = new LinkedHashMap<>();
+        schemas.put(prefix + name, description(required(object(properties.toArray()), "@odata.id", "@odata.type",
+                "Id", "Name"), "The " + name + " schema describes a resource of a Redfish service."));
+        Map<String, Object> mode = enumeration(List.of("Auto", "Manual", "IPv4Only", "iSCSI-Boot"));
+        mode.put("x-enumVersionAdded", Map.of("iSCSI-Boot", "v1_1_0"));
+        schemas.put(prefix + "Mode", mode);
+        schemas.put(prefix + "Links", object(
+                other, ref(other + ".yaml", other + "_" + other),
+                "Related", array(ref("odata-v4.yaml", "odata-v4_idRef")),
+                "Oem", ref("Resource.yaml", "Resource_Oem")));
+        schemas.put(prefix + "Actions", object(
+                "#" + name + ".Reset", local(prefix + "Reset"),
+                "Oem", local(prefix + "OemActions")));
+        schemas.put(prefix + "OemActions", object());
+        schemas.put(prefix + "Reset", object("target", type("string"), "title", type("string")));
+        schemas.put(prefix + "Settings", object("Value", type("string"), "Count", type("integer")));
+        this.yaml.writeValue(openapi.resolve(name + "." + version + ".yaml").toFile(), document(schemas));
+
+        this.yaml.writeValue(openapi.resolve(name + ".v1_0_0.yaml").toFile(), document(Map.of(
+                name + "_v1_0_0_" + name, object("Id", ref("Resource.yaml", "Resource_Id")))));
+        this.yaml.writeValue(openapi.resolve(name + ".yaml").toFile(), document(Map.of(name + "_" + name,
+                Map.of("anyOf", List.of(
+                        ref(name + ".v1_0_0.yaml", name + "_v1_0_0_" + name),
+                        ref(name + "." + version + ".yaml", prefix + name))))));
+        this.yaml.writeValue(openapi.resolve(name + "Collection.yaml").toFile(), document(Map.of(
+                name + "Collection_" + name + "Collection", required(object(
+                        "@odata.id", ref("odata-v4.yaml", "odata-v4_id"),
+                        "@odata.type", ref("odata-v4.yaml", "odata-v4_type"),
+                        "Name", ref("Resource.yaml", "Resource_Name"),
+                        "Members", array(ref(name + ".yaml", name + "_" + name)),
+                        "Members@odata.count", type("integer")), "Members"))));
+    }
+
+    private void writeRegistry(Path registry, String name, String version, int size) throws IOException {
+        List<String> messageNames = List.of("PropertyValueNotInList", "OperationNotAllowed", "ResourceMissingAtURI",
+                "GeneralError", "PropertyValueTypeError", "ActionParameterMissing");
+        Map<String, Object> messages = new LinkedHashMap<>();
+        for (int k = 0; k < size; ++k) {
+            Map<String, Object> message = new LinkedHashMap<>();
+            message.put("Description", "Indicates that message " + k + " of the " + name + " registry occurred.");
+            message.put("LongDescription", "This message is message " + k + " of the " + name + " registry.");
+            message.put("Message", 0 == k % 2 ? "Message number " + k + "." : "The value '%1' for '%2' is invalid.");
+            message.put("MessageSeverity", List.of("OK", "Warning", "Critical").get(k % 3));
+            message.put("NumberOfArgs", 0 == k % 2 ? 0 : 2);
+            if (1 == k % 2) {
+                message.put("ParamTypes", List.of("string", "number"));
+                message.put("ArgDescriptions", List.of("The value.", "The property."));
+                message.put("ArgLongDescriptions", List.of("The value of the property.", "The name of the property."));
+            }
+            message.put("Resolution", "None.");
+            String messageName = messageNames.get(k % messageNames.size());
+            messages.put(k < messageNames.size() ? messageName : messageName + k, message);
+        }
+
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("@odata.type", "#MessageRegistry.v1_6_0.MessageRegistry");
+        document.put("Id", name + "." + version);
+        document.put("Name", name + " Message Registry");
+        document.put("Language", "en");
+        document.put("Description", "This registry defines the " + name + " messages for Redfish.");
+        document.put("RegistryPrefix", name);
+        document.put("RegistryVersion", version);
+        document.put("OwningEntity", "DMTF");
+        document.put("Messages", messages);
+        this.json.writeValue(registry.resolve(name + "." + version + ".json").toFile(), document);
+    }
+
+    private static String version(int index) { return "v1_" + (index % 5 + 1) + "_0"; }
+
+    private static Map<String, Object> mapping(String entity, String privilege, String overrideTarget) {
+        Map<String, Object> operations = new LinkedHashMap<>();
+        for (String method : METHODS) {
+            String required = "GET".equals(method) || "HEAD".equals(method) ? "Login" : privilege;
+            operations.put(method, List.of(Map.of("Privilege", List.of(required))));
+        }
+        if ("ConfigureComponents".equals(privilege)) {
+            operations.put("PATCH", List.of(Map.of("Privilege", List.of(privilege)),
+                    Map.of("Privilege", List.of("ConfigureSelf"))));
+        }
+
+        Map<String, Object> mapping = new LinkedHashMap<>();
+        mapping.put("Entity", entity);
+        mapping.put("OperationMap", operations);
+        if (null != overrideTarget) {
+            mapping.put("SubordinateOverrides", List.of(ordered("Targets", List.of(overrideTarget),
+                    "OperationMap", Map.of("GET", List.of(Map.of("Privilege", List.of("ConfigureManager")))))));
+        }
+        return mapping;
+    }
+
+    private static Map<String, Object> operations(Map<String, Object> schema, boolean patch) {
+        Map<String, Object> operations = new LinkedHashMap<>();
+        operations.put("get", Map.of("responses", Map.of("200", ordered("description", "Success",
+                "content", Map.of("application/json", Map.of("schema", schema))))));
+        if (patch) {
+            operations.put("patch", Map.of("responses", Map.of("204", Map.of("description", "Success"))));
+        }
+        return operations;
+    }
+
+    private static Map<String, Object> withParameters(String path, Map<String, Object> pathItem) {
+        List<Object> parameters = new ArrayList<>();
+        Matcher matcher = PATH_PARAMETER.matcher(path);
+        while (matcher.find()) {
+            parameters.add(ordered("name", matcher.group(1), "in", "path", "required", true,
+                    "schema", type("string")));
+        }
+        if (!parameters.isEmpty()) {
+            pathItem.put("parameters", parameters);
+        }
+        return pathItem;
+    }
+
+    private static Map<String, Object> document(Map<String, Object> schemas) {
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("openapi", "3.0.1");
+        document.put("info", ordered("title", "Redfish", "version", "1"));
+        document.put("paths", Map.of());
+        document.put("components", Map.of("schemas", schemas));
+        return document;
+    }
+
+    // Like Map.of, but preserves the order of the entries, so that the generated files are the same on every run.
+    private static Map<String, Object> ordered(Object... entries) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        for (int i = 0; i < entries.length; i += 2) {
+            map.put((String) entries[i], entries[i + 1]);
+        }
+        return map;
+    }
+
+    private static Map<String, Object> ref(String file, String schema) {
+        return Map.of("$ref", "./" + file + "#/components/schemas/" + schema);
+    }
+
+    private static Map<String, Object> local(String schema) {
+        return Map.of("$ref", "#/components/schemas/" + schema);
+    }
+
+    private static Map<String, Object> type(String type) {
+        Map<String, Object> schema = new LinkedHashMap<>();
+        schema.put("type", type);
+        return schema;
+    }
+
+    private static Map<String, Object> array(Object items) {
+        Map<String, Object> schema = type("array");
+        schema.put("items", items);
+        return schema;
+    }
+
+    private static Map<String, Object> nullable(Object schema) {
+        Map<String, Object> nullValue = type("string");
+        nullValue.put("enum", Collections.singletonList(null));
+        return Map.of("oneOf", List.of(schema, nullValue));
+    }
+
+    private static Map<String, Object> object(Object... properties) {
+        Map<String, Object> schema = type("object");
+        schema.put("properties", ordered(properties));
+        return schema;
+    }
+
+    private static Map<String, Object> required(Map<String, Object> schema, String... properties) {
+        schema.put("required", List.of(properties));
+        return schema;
+    }
+
+    private static Map<String, Object> description(Map<String, Object> schema, String description) {
+        schema.put("description", description);
+        return schema;
+    }
+
+    private static Map<String, Object> enumeration(List<String> values) {
+        Map<String, Object> schema = type("string");
+        schema.put("enum", values);
+        Map<String, String> descriptions = new LinkedHashMap<>();
+        values.forEach((value) -> descriptions.put(value, "The value is " + value + "."));
+        schema.put("x-enumDescriptions", descriptions);
+        return schema;
+    }
+
+    /**
+     * Write a corpus to a directory: SyntheticCorpus directory [factor [models properties uriDepth registryMessages]]
+     */
+    public static void main(String[] args) throws IOException {
+        if (1 > args.length) {
+            System.err.println("Usage: SyntheticCorpus <directory> [factor] [<models> <properties> <uriDepth> <registryMessages>]");
+            System.exit(1);
+        }
+
+        Scale scale = Scale.REDFISH;
+        if (5 < args.length) {
+            scale = new Scale(Integer.parseInt(args[2]), Integer.parseInt(args[3]), Integer.parseInt(args[4]),
+                    Integer.parseInt(args[5]));
+        }
+        if (1 < args.length) {
+            scale = scale.times(Integer.parseInt(args[1]));
+        }
+        new SyntheticCorpus(scale).write(Path.of(args[0]));
+    }
+}
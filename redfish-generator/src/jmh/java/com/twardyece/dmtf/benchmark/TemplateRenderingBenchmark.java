@@ -0,0 +1,150 @@
+package com.twardyece.dmtf.benchmark;
+
+import com.github.mustachejava.DefaultMustacheFactory;
+import com.twardyece.dmtf.FileFactory;
+import com.twardyece.dmtf.GenerationStatistics;
+import com.twardyece.dmtf.ModuleContext;
+import com.twardyece.dmtf.ModuleFile;
+import com.twardyece.dmtf.model.ModelResolver;
+import com.twardyece.dmtf.model.context.factory.*;
+import com.twardyece.dmtf.rust.RustType;
+import com.twardyece.dmtf.specification.SimpleModelIdentifierFactory;
+import com.twardyece.dmtf.specification.ir.SchemaInterner;
+import com.twardyece.dmtf.template.CompiledTemplateEngine;
+import com.twardyece.dmtf.template.ITemplateEngine;
+import com.twardyece.dmtf.template.MustacheTemplateEngine;
+import io.swagger.v3.oas.models.media.ArraySchema;
+import io.swagger.v3.oas.models.media.ObjectSchema;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.media.StringSchema;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Rendering model and module files through the templates of FileFactory, with each template engine.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TemplateRenderingBenchmark {
+    private static final Pattern VERSIONED_MODEL = Pattern.compile("^(?<schema>[A-Za-z0-9]+)_v[0-9_]+_(?<model>[A-Za-z0-9]+)$");
+    @Param({"compiled", "mustache"})
+    public String engine;
+    private List<ModuleFile<?>> modelFiles;
+    private List<ModuleFile<?>> moduleFiles;
+
+    @Setup
+    public void setup() {
+        ModelResolver modelResolver = ModelResolverBenchmark.newModelResolver();
+        ITemplateEngine templateEngine = "mustache".equals(this.engine)
+                ? new MustacheTemplateEngine(new DefaultMustacheFactory())
+                : new CompiledTemplateEngine();
+        FileFactory fileFactory = newFileFactory(modelResolver, templateEngine);
+
+        // Every versioned model in the corpus becomes a struct shaped like a Redfish resource, referring to the other
+        // models of its schema. Models named like enumerations become enums.
+        Map<String, List<String>> schemaModels = new TreeMap<>();
+        for (String identifier : Corpus.identifiers()) {
+            Matcher matcher = VERSIONED_MODEL.matcher(identifier);
+            if (matcher.find()) {
+                schemaModels.computeIfAbsent(matcher.group("schema"), (k) -> new ArrayList<>()).add(identifier);
+            }
+        }
+
+        SchemaInterner interner = new SchemaInterner();
+        this.modelFiles = new ArrayList<>();
+        Map<String, ModuleContext> modules = new HashMap<>();
+        for (List<String> models : schemaModels.values()) {
+            for (String identifier : models) {
+                RustType rustType = modelResolver.resolvePath(identifier);
+                Schema schema = identifier.endsWith("Type") || identifier.endsWith("Types")
+                        ? makeEnum(identifier)
+                        : makeStruct(identifier, models);
+                ModuleFile<?> file = fileFactory.makeModelFile(rustType, interner.intern(schema));
+                this.modelFiles.add(file);
+                new ModuleContext(file.getPath()).registerModule(modules);
+            }
+        }
+
+        this.moduleFiles = new ArrayList<>();
+        for (ModuleContext module : modules.values()) {
+            this.moduleFiles.add(fileFactory.makeModuleFile(module));
+        }
+    }
+
+    /**
+     * A FileFactory configured with the same context factories as RedfishCodegen.
+     */
+    static FileFactory newFileFactory(ModelResolver modelResolver, ITemplateEngine engine) {
+        IModelContextFactory[] factories = new IModelContextFactory[6];
+        factories[0] = new EnumContextFactory();
+        factories[1] = new FreeFormObjectContextFactory();
+        factories[2] = new StructContextFactory(modelResolver);
+        factories[3] = new TupleContextFactory(modelResolver);
+        SimpleModelIdentifierFactory[] identifierParsers = new SimpleModelIdentifierFactory[2];
+        identifierParsers[0] = new SimpleModelIdentifierFactory(
+                Pattern.compile("odata-v4_(?<model>[a-zA-Z0-9]*)"), "model");
+        identifierParsers[1] = new SimpleModelIdentifierFactory(
+                Pattern.compile("^Resource_(?<model>[a-zA-Z0-9]*)$"), "model");
+        factories[4] = new UnionContextFactory(modelResolver, new UnionVariantParser(identifierParsers));
+        factories[5] = new UnitContextFactory();
+        return new FileFactory(engine, factories, new GenerationStatistics());
+    }
+
+    static Schema makeStruct(String identifier, List<String> siblings) {
+        Schema schema = new ObjectSchema()
+                .description("The " + identifier + " schema contains properties of a Redfish resource.")
+                .addProperty("@odata.id", new Schema().$ref("#/components/schemas/odata-v4_Id"))
+                .addProperty("@odata.type", new Schema().$ref("#/components/schemas/odata-v4_Type"))
+                .addProperty("Id", new StringSchema().description("The unique identifier for this resource."))
+                .addProperty("Name", new StringSchema().description("The name of the resource."))
+                .addProperty("Description", new StringSchema().description("The description of this resource."))
+                .addProperty("Status", new Schema().$ref("#/components/schemas/Resource_Status"))
+                .addProperty("Oem", new Schema().$ref("#/components/schemas/Resource_Oem"))
+                .addProperty("Location", new Schema().$ref("#/components/schemas/Resource_Location"));
+        for (String sibling : siblings) {
+            if (!sibling.equals(identifier)) {
+                String name = sibling.substring(sibling.lastIndexOf('_') + 1);
+                schema.addProperty(name, new Schema().$ref("#/components/schemas/" + sibling));
+            }
+        }
+        schema.addProperty("RelatedItem", new ArraySchema().items(new Schema().$ref("#/components/schemas/odata-v4_idRef")));
+        schema.setRequired(List.of("@odata.id", "@odata.type", "Id", "Name"));
+        return schema;
+    }
+
+    static Schema makeEnum(String identifier) {
+        Schema schema = new StringSchema()
+                .description("The " + identifier + " enumeration.")
+                ._enum(List.of("Enabled", "Disabled", "StandbyOffline", "StandbySpare", "InTest", "Starting", "Absent",
+                        "UnavailableOffline", "Deferring", "Quiesced", "Updating", "Qualified"));
+        Map<String, String> descriptions = new HashMap<>();
+        for (Object value : schema.getEnum()) {
+            descriptions.put((String) value, "The resource is " + value + ".");
+        }
+        schema.addExtension("x-enumDescriptions", descriptions);
+        return schema;
+    }
+
+    @Benchmark
+    public void renderModels(Blackhole blackhole) {
+        for (ModuleFile<?> file : this.modelFiles) {
+            blackhole.consume(file.render());
+        }
+    }
+
+    @Benchmark
+    public void renderModules(Blackhole blackhole) {
+        for (ModuleFile<?> file : this.moduleFiles) {
+            blackhole.consume(file.render());
+        }
+    }
+}
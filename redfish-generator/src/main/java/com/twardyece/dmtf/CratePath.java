@@ -13,30 +13,35 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 public class CratePath implements Comparable<CratePath> {
-    private ArrayList<SnakeCaseName> path;
+    private final List<SnakeCaseName> path;
+    // The components joined by "::", which is compared and hashed instead of the components
+    private final String value;
+    private final int hash;
+    private static final CratePath EMPTY = new CratePath(List.of());
+
+    private CratePath(List<SnakeCaseName> path) {
+        this.path = List.copyOf(path);
+        this.value = String.join("::", this.path.stream().map((name) -> name.toString()).collect(Collectors.toList()));
+        this.hash = this.value.hashCode();
+    }
 
     public static CratePath crateLocal(Collection<SnakeCaseName> path) {
-        CratePath cratePath = CratePath.crateRoot();
-        cratePath.path.addAll(path);
-        return cratePath;
+        List<SnakeCaseName> components = new ArrayList<>();
+        components.add(RustConfig.CRATE_ROOT_MODULE);
+        components.addAll(path);
+        return new CratePath(components);
     }
 
     public static CratePath crateRoot() {
-        CratePath cratePath = CratePath.empty();
-        cratePath.path.add(RustConfig.CRATE_ROOT_MODULE);
-        return cratePath;
+        return new CratePath(List.of(RustConfig.CRATE_ROOT_MODULE));
     }
 
     public static CratePath relative(Collection<SnakeCaseName> path) {
-        CratePath cratePath = CratePath.empty();
-        cratePath.path.addAll(path);
-        return cratePath;
+        return new CratePath(new ArrayList<>(path));
     }
 
     public static CratePath empty() {
-        CratePath cratePath = new CratePath();
-        cratePath.path = new ArrayList<>();
-        return cratePath;
+        return EMPTY;
     }
 
     public List<SnakeCaseName> getComponents() {
@@ -57,7 +62,7 @@ public class CratePath implements Comparable<CratePath> {
 
     @Override
     public String toString() {
-        return String.join("::", this.path.stream().map((name) -> name.toString()).collect(Collectors.toList()));
+        return this.value;
     }
 
     public String joinComponent(ICaseConvertible component) {
@@ -69,10 +74,9 @@ public class CratePath implements Comparable<CratePath> {
     }
 
     public CratePath append(SnakeCaseName component) {
-        CratePath cratePath = CratePath.empty();
-        cratePath.path.addAll(this.path);
-        cratePath.path.add(component);
-        return cratePath;
+        List<SnakeCaseName> components = new ArrayList<>(this.path);
+        components.add(component);
+        return new CratePath(components);
     }
 
     public Path toPath() {
@@ -92,20 +96,20 @@ public class CratePath implements Comparable<CratePath> {
     }
 
     public static CratePath parse(String value) {
-        CratePath path = CratePath.empty();
-        path.path.addAll(Arrays.stream(value.split("::")).map(SnakeCaseName::new).toList());
-        return path;
+        return new CratePath(Arrays.stream(value.split("::")).map(SnakeCaseName::new).toList());
     }
 
     @Override
     public int compareTo(CratePath o) {
-        return this.toString().compareTo(o.toString());
+        return this.value.compareTo(o.value);
     }
 
     @Override
     public boolean equals(Object o) {
-        if (o instanceof CratePath) {
-            return this.toString().equals(o.toString());
+        if (this == o) {
+            return true;
+        } else if (o instanceof CratePath other) {
+            return this.hash == other.hash && this.value.equals(other.value);
         } else {
             return false;
         }
@@ -113,6 +117,6 @@ public class CratePath implements Comparable<CratePath> {
 
     @Override
     public int hashCode() {
-        return this.toString().hashCode();
+        return this.hash;
     }
 }
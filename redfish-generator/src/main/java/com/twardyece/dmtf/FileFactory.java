@@ -1,6 +1,5 @@
 package com.twardyece.dmtf;
 
-import com.github.mustachejava.Mustache;
 import com.github.mustachejava.MustacheFactory;
 import com.twardyece.dmtf.component.ComponentContext;
 import com.twardyece.dmtf.component.MetadataRoutingContext;
@@ -9,36 +8,50 @@ import com.twardyece.dmtf.model.context.ModelContext;
 import com.twardyece.dmtf.model.context.factory.IModelContextFactory;
 import com.twardyece.dmtf.registry.RegistryContext;
 import com.twardyece.dmtf.rust.RustType;
-import io.swagger.v3.oas.models.media.Schema;
+import com.twardyece.dmtf.specification.ir.SchemaNode;
+import com.twardyece.dmtf.template.ITemplate;
+import com.twardyece.dmtf.template.ITemplateEngine;
+import com.twardyece.dmtf.template.MustacheTemplateEngine;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public class FileFactory {
-    private final Mustache modelTemplate;
-    private final Mustache moduleTemplate;
-    private final Mustache traitTemplate;
-    private final Mustache libTemplate;
-    private final Mustache registryTemplate;
-    private final Mustache metadataTemplate;
-    private final Mustache odataTemplate;
+    private final ITemplate modelTemplate;
+    private final ITemplate moduleTemplate;
+    private final ITemplate traitTemplate;
+    private final ITemplate libTemplate;
+    private final ITemplate registryTemplate;
+    private final ITemplate metadataTemplate;
+    private final ITemplate odataTemplate;
     private final IModelContextFactory[] contextFactories;
+    private final GenerationStatistics statistics;
     private static final Logger LOGGER = LoggerFactory.getLogger(FileFactory.class);
 
     public FileFactory(MustacheFactory factory, IModelContextFactory[] contextFactories) {
-        this.modelTemplate = factory.compile("templates/model.mustache");
-        this.moduleTemplate = factory.compile("templates/module.mustache");
-        this.traitTemplate = factory.compile("templates/component.mustache");
-        this.libTemplate = factory.compile("templates/lib.mustache");
-        this.registryTemplate = factory.compile("templates/registry.mustache");
-        this.metadataTemplate = factory.compile("templates/metadata.mustache");
-        this.odataTemplate = factory.compile("templates/odata.mustache");
+        this(factory, contextFactories, new GenerationStatistics());
+    }
+
+    public FileFactory(MustacheFactory factory, IModelContextFactory[] contextFactories, GenerationStatistics statistics) {
+        this(new MustacheTemplateEngine(factory), contextFactories, statistics);
+    }
+
+    public FileFactory(ITemplateEngine engine, IModelContextFactory[] contextFactories, GenerationStatistics statistics) {
+        this.modelTemplate = engine.compile("templates/model.mustache");
+        this.moduleTemplate = engine.compile("templates/module.mustache");
+        this.traitTemplate = engine.compile("templates/component.mustache");
+        this.libTemplate = engine.compile("templates/lib.mustache");
+        this.registryTemplate = engine.compile("templates/registry.mustache");
+        this.metadataTemplate = engine.compile("templates/metadata.mustache");
+        this.odataTemplate = engine.compile("templates/odata.mustache");
         this.contextFactories = contextFactories;
+        this.statistics = statistics;
     }
 
-    public ModuleFile<ModelContext> makeModelFile(RustType rustType, Schema schema) {
+    public ModuleFile<ModelContext> makeModelFile(RustType rustType, SchemaNode schema) {
         for (IModelContextFactory factory : this.contextFactories) {
             ModelContext modelContext = factory.makeModelContext(rustType, schema);
             if (null != modelContext) {
+                this.statistics.increment("models created by " + factory.getClass().getSimpleName());
                 return new ModuleFile<>(modelContext.moduleContext.path, modelContext, this.modelTemplate);
             }
         }
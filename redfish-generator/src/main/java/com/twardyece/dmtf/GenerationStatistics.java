@@ -0,0 +1,171 @@
+package com.twardyece.dmtf;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Collects the cost of each phase of a generator run, and counts of the things each phase produced. A run moves from
+ * one phase to the next by calling enter() on the thread driving the run. Each phase is charged with the wall time
+ * between entering and leaving it, and with the CPU time and allocations of the driving thread, as well as those of any
+ * work done on other threads through measure() while the phase is active. Entering a phase more than once accumulates.
+ */
+public class GenerationStatistics {
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+    // Phases, in the order they were first entered. Only accessed from the driving thread.
+    private final Map<String, Phase> phases = new LinkedHashMap<>();
+    private final Map<String, LongAdder> counts = new ConcurrentHashMap<>();
+    private volatile Phase current;
+    private Sample currentStart;
+
+    public GenerationStatistics() {
+        if (THREADS.isThreadCpuTimeSupported() && !THREADS.isThreadCpuTimeEnabled()) {
+            THREADS.setThreadCpuTimeEnabled(true);
+        }
+        if (THREADS instanceof com.sun.management.ThreadMXBean threads && threads.isThreadAllocatedMemorySupported()
+                && !threads.isThreadAllocatedMemoryEnabled()) {
+            threads.setThreadAllocatedMemoryEnabled(true);
+        }
+    }
+
+    /**
+     * Leave the current phase, if any, and enter the named one.
+     */
+    public void enter(String phase) {
+        this.stop();
+        this.currentStart = Sample.now();
+        this.current = this.phases.computeIfAbsent(phase, Phase::new);
+    }
+
+    /**
+     * Leave the current phase, if any.
+     */
+    public void stop() {
+        Phase phase = this.current;
+        if (null == phase) {
+            return;
+        }
+
+        this.current = null;
+        Sample end = Sample.now();
+        phase.wallNanos.add(end.wallNanos - this.currentStart.wallNanos);
+        phase.add(this.currentStart, end);
+    }
+
+    /**
+     * Run a task on behalf of the current phase, charging it with the CPU time and allocations of the calling thread.
+     * Used for work handed to other threads, which the phase would not otherwise see.
+     */
+    public <T> T measure(Supplier<T> task) {
+        Phase phase = this.current;
+        if (null == phase) {
+            return task.get();
+        }
+
+        Sample start = Sample.now();
+        try {
+            return task.get();
+        } finally {
+            phase.add(start, Sample.now());
+        }
+    }
+
+    public void increment(String count) {
+        this.add(count, 1);
+    }
+
+    public void add(String count, long value) {
+        this.counts.computeIfAbsent(count, (k) -> new LongAdder()).add(value);
+    }
+
+    public long getCount(String count) {
+        LongAdder value = this.counts.get(count);
+        return null != value ? value.sum() : 0;
+    }
+
+    /**
+     * @return A human-readable report of each phase, followed by the counts in lexical order.
+     */
+    public String toText() {
+        int width = "Phase".length();
+        for (String name : this.phases.keySet()) {
+            width = Math.max(width, name.length());
+        }
+
+        StringBuilder builder = new StringBuilder();
+        builder.append(String.format("%-" + width + "s %12s %12s %16s%n", "Phase", "Wall (ms)", "CPU (ms)", "Allocated (MiB)"));
+        Phase total = new Phase("Total");
+        for (Phase phase : this.phases.values()) {
+            appendPhase(builder, width, phase);
+            total.wallNanos.add(phase.wallNanos.sum());
+            total.cpuNanos.add(phase.cpuNanos.sum());
+            total.allocatedBytes.add(phase.allocatedBytes.sum());
+        }
+        appendPhase(builder, width, total);
+
+        if (!this.counts.isEmpty()) {
+            builder.append(System.lineSeparator());
+            int countWidth = this.counts.keySet().stream().mapToInt(String::length).max().getAsInt();
+            for (Map.Entry<String, LongAdder> count : new TreeMap<>(this.counts).entrySet()) {
+                builder.append(String.format("%-" + countWidth + "s %10d%n", count.getKey(), count.getValue().sum()));
+            }
+        }
+
+        return builder.toString();
+    }
+
+    private static void appendPhase(StringBuilder builder, int width, Phase phase) {
+        builder.append(String.format("%-" + width + "s %12.1f %12.1f %16.1f%n", phase.name,
+                phase.wallNanos.sum() / 1e6, phase.cpuNanos.sum() / 1e6, phase.allocatedBytes.sum() / (double) (1 << 20)));
+    }
+
+    /**
+     * @return The report in a form suitable for tracking between runs. Times are in nanoseconds, allocations in bytes.
+     */
+    public JSONObject toJson() {
+        JSONArray phases = new JSONArray();
+        for (Phase phase : this.phases.values()) {
+            phases.put(new JSONObject()
+                    .put("name", phase.name)
+                    .put("wallNanos", phase.wallNanos.sum())
+                    .put("cpuNanos", phase.cpuNanos.sum())
+                    .put("allocatedBytes", phase.allocatedBytes.sum()));
+        }
+
+        JSONObject counts = new JSONObject();
+        this.counts.forEach((name, value) -> counts.put(name, value.sum()));
+        return new JSONObject().put("phases", phases).put("counts", counts);
+    }
+
+    private static class Phase {
+        private final String name;
+        private final LongAdder wallNanos = new LongAdder();
+        private final LongAdder cpuNanos = new LongAdder();
+        private final LongAdder allocatedBytes = new LongAdder();
+
+        Phase(String name) {
+            this.name = name;
+        }
+
+        void add(Sample start, Sample end) {
+            this.cpuNanos.add(end.cpuNanos - start.cpuNanos);
+            this.allocatedBytes.add(end.allocatedBytes - start.allocatedBytes);
+        }
+    }
+
+    // The clocks of the calling thread. Measurements that the JVM does not support read as zero.
+    private record Sample(long wallNanos, long cpuNanos, long allocatedBytes) {
+        static Sample now() {
+            long cpuNanos = THREADS.isThreadCpuTimeEnabled() ? THREADS.getCurrentThreadCpuTime() : 0;
+            long allocatedBytes = THREADS instanceof com.sun.management.ThreadMXBean threads
+                    && threads.isThreadAllocatedMemoryEnabled() ? threads.getCurrentThreadAllocatedBytes() : 0;
+            return new Sample(System.nanoTime(), Math.max(0, cpuNanos), Math.max(0, allocatedBytes));
+        }
+    }
+}
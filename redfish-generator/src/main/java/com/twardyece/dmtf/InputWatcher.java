@@ -0,0 +1,93 @@
+package com.twardyece.dmtf;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.*;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Watches the input directories of the generator for changes. Directories are watched recursively, except for hidden
+ * directories (such as the ".pc" directory maintained by quilt). Editors and patch tools usually touch several files,
+ * or the same file several times, for a single change, so changes are collected until the directories have been quiet
+ * for a short period, and reported together.
+ */
+public class InputWatcher implements Closeable {
+    private final WatchService watchService;
+    private final List<Path> roots;
+    private final Duration quietPeriod;
+    private final Map<WatchKey, Path> directories = new HashMap<>();
+
+    public InputWatcher(List<Path> roots, Duration quietPeriod) throws IOException {
+        this.watchService = FileSystems.getDefault().newWatchService();
+        this.roots = roots.stream().map((root) -> root.toAbsolutePath().normalize()).toList();
+        this.quietPeriod = quietPeriod;
+        for (Path root : this.roots) {
+            this.register(root);
+        }
+    }
+
+    private void register(Path directory) throws IOException {
+        List<Path> subdirectories;
+        try (Stream<Path> walk = Files.walk(directory)) {
+            subdirectories = walk
+                    .filter(Files::isDirectory)
+                    .filter((path) -> path.equals(directory) || !isHidden(path))
+                    .toList();
+        }
+        for (Path subdirectory : subdirectories) {
+            WatchKey key = subdirectory.register(this.watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+            this.directories.put(key, subdirectory);
+        }
+    }
+
+    private static boolean isHidden(Path path) {
+        return path.getFileName().toString().startsWith(".");
+    }
+
+    /**
+     * Wait for the inputs to change.
+     * @return The files that were created, modified or deleted. If the watch service lost track of some changes, the
+     * watched root directories are returned instead, as though every file had changed.
+     */
+    public Set<Path> take() throws IOException, InterruptedException {
+        Set<Path> changes = new TreeSet<>();
+        boolean overflow = false;
+        // Changes to hidden files, such as editor swap files, are ignored, so wait until a change is seen to anything else
+        while (changes.isEmpty() && !overflow) {
+            WatchKey key = this.watchService.take();
+            while (null != key) {
+                Path directory = this.directories.get(key);
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (StandardWatchEventKinds.OVERFLOW == event.kind()) {
+                        overflow = true;
+                        continue;
+                    }
+
+                    Path path = directory.resolve((Path) event.context());
+                    if (isHidden(path)) {
+                        continue;
+                    } else if (StandardWatchEventKinds.ENTRY_CREATE == event.kind() && Files.isDirectory(path)) {
+                        this.register(path);
+                    }
+                    changes.add(path);
+                }
+
+                if (!key.reset()) {
+                    this.directories.remove(key);
+                }
+                key = this.watchService.poll(this.quietPeriod.toMillis(), TimeUnit.MILLISECONDS);
+            }
+        }
+
+        return overflow ? new TreeSet<>(this.roots) : changes;
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.watchService.close();
+    }
+}
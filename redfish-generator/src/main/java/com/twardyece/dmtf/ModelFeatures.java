@@ -0,0 +1,200 @@
+package com.twardyece.dmtf;
+
+import com.twardyece.dmtf.model.context.ModelContext;
+import com.twardyece.dmtf.rust.RustConfig;
+import com.twardyece.dmtf.rust.RustType;
+import com.twardyece.dmtf.text.SnakeCaseName;
+
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Assigns a cargo feature to each top-level module of the models (one per schema, e.g. crate::models::account_service),
+ * so that crates depending on the models only compile the schemas they use. A module's feature enables the features
+ * of every module its models refer to. Modules containing required models, and every module those refer to, are not
+ * gated, since the registries, the routing crate and the hand-written crates use them unconditionally.
+ */
+public class ModelFeatures {
+    // Enables every generated feature
+    public static final String ALL_MODELS_FEATURE = "all-models";
+    private static final String BEGIN_MARKER = "# Generated by redfish-codegen. Do not modify.";
+    private static final String END_MARKER = "# End of generated features.";
+    private static final Pattern FEATURE = Pattern.compile("^\\s*\"?(?<name>[A-Za-z0-9_-]+)\"?\\s*=");
+    private final Set<String> ungated;
+    // Each gated module, mapped to the gated modules its models refer to
+    private final SortedMap<String, SortedSet<String>> features;
+
+    private ModelFeatures(Set<String> ungated, SortedMap<String, SortedSet<String>> features) {
+        this.ungated = ungated;
+        this.features = features;
+    }
+
+    /**
+     * @param models The models to be generated
+     * @param requiredModels The names of models that must always be compiled
+     */
+    public static ModelFeatures of(Map<String, ModuleFile<ModelContext>> models, Set<String> requiredModels) {
+        Map<RustType, String> modules = new HashMap<>();
+        for (ModuleFile<ModelContext> model : models.values()) {
+            String module = getModule(model.getContext().rustType);
+            if (null != module) {
+                modules.put(model.getContext().rustType, module);
+            }
+        }
+
+        Map<String, Set<String>> dependencies = new HashMap<>();
+        Deque<String> pending = new ArrayDeque<>();
+        for (Map.Entry<String, ModuleFile<ModelContext>> model : models.entrySet()) {
+            ModelContext context = model.getValue().getContext();
+            String module = modules.get(context.rustType);
+            if (null == module) {
+                continue;
+            }
+
+            Set<String> moduleDependencies = dependencies.computeIfAbsent(module, (k) -> new HashSet<>());
+            for (RustType type : context.referencedTypes()) {
+                String dependency = modules.get(type);
+                if (null != dependency && !dependency.equals(module)) {
+                    moduleDependencies.add(dependency);
+                }
+            }
+
+            if (requiredModels.contains(model.getKey())) {
+                pending.push(module);
+            }
+        }
+
+        // The closure of the required modules must be ungated, so that they never refer to a module that is disabled.
+        Set<String> ungated = new HashSet<>();
+        while (!pending.isEmpty()) {
+            String module = pending.pop();
+            if (ungated.add(module)) {
+                pending.addAll(dependencies.get(module));
+            }
+        }
+
+        SortedMap<String, SortedSet<String>> features = new TreeMap<>();
+        dependencies.forEach((module, moduleDependencies) -> {
+            if (!ungated.contains(module)) {
+                SortedSet<String> featureDependencies = new TreeSet<>(moduleDependencies);
+                featureDependencies.removeAll(ungated);
+                features.put(module, featureDependencies);
+            }
+        });
+        return new ModelFeatures(ungated, features);
+    }
+
+    private static String getModule(RustType type) {
+        SnakeCaseName module = RustConfig.getModelModule(type);
+        return null != module ? module.toString() : null;
+    }
+
+    /**
+     * @return The feature that gates the module, or null if the module is always compiled.
+     */
+    public String getFeature(SnakeCaseName module) {
+        return this.features.containsKey(module.toString()) ? module.toString() : null;
+    }
+
+    public int getGatedModuleCount() { return this.features.size(); }
+
+    public int getUngatedModuleCount() { return this.ungated.size(); }
+
+    /**
+     * Add the generated features to the [features] table of a crate manifest, replacing the features generated by a
+     * previous run. The rest of the manifest is left as it is.
+     * @param manifest The contents of the Cargo.toml file, or an empty string if there is none.
+     * @return The updated manifest.
+     * @throws RuntimeException if the manifest already defines a feature with the name of a generated feature.
+     */
+    public String updateManifest(String manifest) {
+        List<String> lines = new ArrayList<>(manifest.lines().toList());
+
+        int position = lines.indexOf(BEGIN_MARKER);
+        if (-1 != position) {
+            int end = lines.indexOf(END_MARKER);
+            if (end < position) {
+                throw new RuntimeException("The generated features in the crate manifest are missing the line \""
+                        + END_MARKER + "\"");
+            }
+            lines.subList(position, end + 1).clear();
+        } else {
+            position = this.findEndOfFeaturesTable(lines);
+        }
+
+        this.checkFeatureNames(lines);
+        lines.addAll(position, this.renderFeatures());
+        return String.join("\n", lines) + "\n";
+    }
+
+    // Generated features are added after the last entry of the [features] table, which is created if necessary.
+    private int findEndOfFeaturesTable(List<String> lines) {
+        int header = -1;
+        for (int i = 0; i < lines.size(); ++i) {
+            if ("[features]".equals(lines.get(i).trim())) {
+                header = i;
+                break;
+            }
+        }
+
+        if (-1 == header) {
+            if (!lines.isEmpty()) {
+                lines.add("");
+            }
+            lines.add("[features]");
+            return lines.size();
+        }
+
+        int end = header + 1;
+        for (int i = header + 1; i < lines.size() && !lines.get(i).trim().startsWith("["); ++i) {
+            if (!lines.get(i).isBlank()) {
+                end = i + 1;
+            }
+        }
+        return end;
+    }
+
+    private void checkFeatureNames(List<String> lines) {
+        boolean featuresTable = false;
+        for (String line : lines) {
+            if (line.trim().startsWith("[")) {
+                featuresTable = "[features]".equals(line.trim());
+                continue;
+            }
+
+            Matcher matcher = FEATURE.matcher(line);
+            if (featuresTable && matcher.find()) {
+                String name = matcher.group("name");
+                if (this.features.containsKey(name) || ALL_MODELS_FEATURE.equals(name)) {
+                    throw new RuntimeException("The crate manifest already defines the feature " + name
+                            + ", which gates a generated module");
+                }
+            }
+        }
+    }
+
+    private List<String> renderFeatures() {
+        List<String> lines = new ArrayList<>();
+        lines.add(BEGIN_MARKER);
+        this.features.forEach((feature, dependencies) -> lines.add(feature + " = " + toArray(dependencies)));
+        lines.add(ALL_MODELS_FEATURE + " = [");
+        for (String feature : this.features.keySet()) {
+            lines.add("    \"" + feature + "\",");
+        }
+        lines.add("]");
+        lines.add(END_MARKER);
+        return lines;
+    }
+
+    private static String toArray(Collection<String> values) {
+        StringBuilder array = new StringBuilder("[");
+        for (String value : values) {
+            if (1 < array.length()) {
+                array.append(", ");
+            }
+            array.append('"').append(value).append('"');
+        }
+        return array.append(']').toString();
+    }
+}
@@ -4,6 +4,7 @@ import com.twardyece.dmtf.rust.RustConfig;
 import com.twardyece.dmtf.text.SnakeCaseName;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 public class ModuleContext {
@@ -13,7 +14,7 @@ public class ModuleContext {
 
     public ModuleContext(CratePath path) {
         this.path = path;
-        this.submoduleSet = new HashSet<>();
+        this.submoduleSet = ConcurrentHashMap.newKeySet();
     }
 
     public List<Submodule> submodules() { return this.submoduleSet.stream().sorted().collect(Collectors.toList()); }
@@ -32,12 +33,26 @@ public class ModuleContext {
         this.submoduleSet.add(new ModuleContext.Submodule(RustConfig.escapeReservedKeyword(name), true, null));
     }
 
+    // Anonymous submodules may also be written inline, in a block in the parent module's file, rather than in a file of
+    // their own. This replaces any submodule of the same name.
+    public void addInlineSubmodule(ModuleFile<?> file) {
+        ModuleContext.Submodule submodule = new ModuleContext.Submodule(
+                RustConfig.escapeReservedKeyword(file.getPath().getLastComponent()), file);
+        this.submoduleSet.remove(submodule);
+        this.submoduleSet.add(submodule);
+    }
+
+    // Replaces any submodule of the same name, so that a feature may be assigned to a submodule once it is registered.
     public void addNamedSubmoduleWithFeature(SnakeCaseName name, String feature) {
         // TODO: Instead of calling escapeReservedKeyword here, create a SanitarySnakeCaseIdentifier class that
         // ensures the identifier can be used in Rust code.
-        this.submoduleSet.add(new ModuleContext.Submodule(RustConfig.escapeReservedKeyword(name), false, feature));
+        ModuleContext.Submodule submodule = new ModuleContext.Submodule(RustConfig.escapeReservedKeyword(name), false,
+                feature);
+        this.submoduleSet.remove(submodule);
+        this.submoduleSet.add(submodule);
     }
 
+    // Safe to call concurrently, provided that modules is a ConcurrentMap.
     public void registerModule(Map<String, ModuleContext> modules) {
         List<SnakeCaseName> components = this.path.getComponents();
         if (null == components || 2 > components.size()) {
@@ -51,14 +66,12 @@ public class ModuleContext {
         for (int i = 2; i < components.size(); ++i) {
             SnakeCaseName component = components.get(i);
             if (!path.isEmpty()) {
-                if (!modules.containsKey(path.toString())) {
-                    modules.put(path.toString(), new ModuleContext(path));
-                }
-
+                CratePath modulePath = path;
+                ModuleContext module = modules.computeIfAbsent(path.toString(), (k) -> new ModuleContext(modulePath));
                 if (components.size() - 1 == i) {
-                    modules.get(path.toString()).addAnonymousSubmodule(component);
+                    module.addAnonymousSubmodule(component);
                 } else {
-                    modules.get(path.toString()).addNamedSubmodule(component);
+                    module.addNamedSubmodule(component);
                 }
             }
 
@@ -97,17 +110,42 @@ public class ModuleContext {
     }
 
     static class Submodule implements Comparable<Submodule> {
+        private static final String GENERATED_HEADER = "// Generated by redfish-codegen. Do not modify.";
+        private static final String INDENT = "    ";
+
         Submodule(SnakeCaseName name, boolean isUsed, String feature) {
             this.snakeCaseName = name;
             this.isUsed = isUsed;
             this.feature = feature;
+            this.inline = false;
+        }
+
+        Submodule(SnakeCaseName name, ModuleFile<?> file) {
+            this.snakeCaseName = name;
+            this.isUsed = true;
+            this.inline = true;
+            this.file = file;
         }
 
         String name() { return this.snakeCaseName.toString(); }
 
+        // The rendered file of an inline submodule, without its header, indented to fit inside the block. Rendered on
+        // demand, so that inline submodules are rendered along with their parent.
+        String content() {
+            String rendered = this.file.render();
+            if (rendered.startsWith(GENERATED_HEADER)) {
+                rendered = rendered.substring(GENERATED_HEADER.length());
+            }
+            return rendered.strip().lines()
+                    .map((line) -> line.isEmpty() ? line : INDENT + line)
+                    .collect(Collectors.joining("\n"));
+        }
+
         SnakeCaseName snakeCaseName;
         boolean isUsed;
         String feature;
+        boolean inline;
+        private ModuleFile<?> file;
 
         @Override
         public int compareTo(Submodule submodule) {
@@ -1,36 +1,53 @@
 package com.twardyece.dmtf;
 
-import com.github.mustachejava.Mustache;
+import com.twardyece.dmtf.output.DirectoryOutputSink;
+import com.twardyece.dmtf.output.IOutputSink;
+import com.twardyece.dmtf.template.ITemplate;
 
-import java.io.File;
 import java.io.IOException;
-import java.io.PrintWriter;
-import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 
 public class ModuleFile<T> {
     CratePath path;
     private T context;
-    private Mustache template;
+    private ITemplate template;
 
-    public ModuleFile(CratePath path, T context, Mustache template) {
+    public ModuleFile(CratePath path, T context, ITemplate template) {
         this.path = path;
         this.context = context;
         this.template = template;
     }
 
     public T getContext() { return this.context; }
+    public CratePath getPath() { return this.path; }
 
-    public void generate() throws IOException {
-        File moduleFile = this.path.toPath().toFile();
-        File parent = moduleFile.getParentFile();
-        if (!parent.exists()) {
-            parent.mkdirs();
+    public boolean generate() throws IOException {
+        return this.generate(new DirectoryOutputSink(Path.of("")));
+    }
+
+    /**
+     * Render the module into the crate written by the sink.
+     * @return true if the file was written, false if it already contained the rendered content.
+     */
+    public boolean generate(IOutputSink sink) throws IOException {
+        ModuleFileGenerateEvent event = new ModuleFileGenerateEvent();
+        event.begin();
+        Path moduleFile = this.path.toPath();
+        byte[] content = this.render().getBytes(StandardCharsets.UTF_8);
+        boolean written = sink.write(moduleFile, content);
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.path = moduleFile.toString();
+            event.bytes = content.length;
+            event.written = written;
+            event.commit();
         }
-        moduleFile.createNewFile();
+        return written;
+    }
 
-        // Render the template
-        Writer writer = new PrintWriter(moduleFile);
-        this.template.execute(writer, this.context);
-        writer.flush();
+    public String render() {
+        return this.template.render(this.context);
     }
 }
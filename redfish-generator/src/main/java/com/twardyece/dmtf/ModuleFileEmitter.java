@@ -0,0 +1,106 @@
+package com.twardyece.dmtf;
+
+import com.twardyece.dmtf.output.IOutputSink;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Renders module files on a pool of worker threads. Every file is rendered from its own context, so the order in which
+ * files are emitted has no effect on the generated output. Keeps count of the files that were written and of those
+ * that were skipped because their content was unchanged.
+ */
+public class ModuleFileEmitter implements AutoCloseable {
+    private final ExecutorService executor;
+    private final AtomicInteger written = new AtomicInteger();
+    private final AtomicInteger skipped = new AtomicInteger();
+    private final GenerationStatistics statistics;
+
+    public ModuleFileEmitter(int parallelism) {
+        this(parallelism, new GenerationStatistics());
+    }
+
+    /**
+     * @param statistics Charged with the cost of rendering on the worker threads.
+     */
+    public ModuleFileEmitter(int parallelism, GenerationStatistics statistics) {
+        this.executor = Executors.newFixedThreadPool(Math.max(1, parallelism));
+        this.statistics = statistics;
+    }
+
+    /**
+     * Render a batch of files, returning once every file in the batch has been written.
+     * @param files The files to render
+     * @param sink The sink of the crate the files belong to
+     */
+    public void emit(Collection<? extends ModuleFile<?>> files, IOutputSink sink) throws IOException {
+        List<Future<?>> futures = new ArrayList<>(files.size());
+        for (ModuleFile<?> file : files) {
+            futures.add(this.executor.submit(() -> this.statistics.measure(() -> {
+                try {
+                    this.count(file.generate(sink));
+                    return null;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            })));
+        }
+
+        // Wait for the whole batch, so that a failure never leaves workers writing behind our back.
+        Throwable failure = null;
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            } catch (ExecutionException e) {
+                if (null == failure) {
+                    failure = e.getCause();
+                }
+            }
+        }
+
+        if (failure instanceof UncheckedIOException) {
+            throw ((UncheckedIOException) failure).getCause();
+        } else if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        } else if (null != failure) {
+            throw new RuntimeException(failure);
+        }
+    }
+
+    /**
+     * Render a single file on the calling thread.
+     */
+    public void emit(ModuleFile<?> file, IOutputSink sink) throws IOException {
+        this.count(file.generate(sink));
+    }
+
+    private void count(boolean written) {
+        if (written) {
+            this.written.incrementAndGet();
+        } else {
+            this.skipped.incrementAndGet();
+        }
+    }
+
+    // The number of files whose content changed, and so were written to the sink.
+    public int getWritten() { return this.written.get(); }
+
+    // The number of files left untouched, because they already contained the rendered content.
+    public int getSkipped() { return this.skipped.get(); }
+
+    @Override
+    public void close() {
+        this.executor.shutdownNow();
+    }
+}
@@ -0,0 +1,21 @@
+package com.twardyece.dmtf;
+
+import jdk.jfr.*;
+
+@Name("com.twardyece.dmtf.ModuleFileGenerate")
+@Label("Module File Generate")
+@Category({"Redfish Codegen", "Emission"})
+@Description("Rendering of one module file, and writing it if its content changed")
+@StackTrace(false)
+class ModuleFileGenerateEvent extends Event {
+    @Label("Path")
+    String path;
+
+    @Label("Size")
+    @DataAmount
+    long bytes;
+
+    @Label("Written")
+    @Description("False if the file already contained the rendered content")
+    boolean written;
+}
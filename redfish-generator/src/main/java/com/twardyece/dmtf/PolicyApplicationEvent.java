@@ -0,0 +1,24 @@
+package com.twardyece.dmtf;
+
+import jdk.jfr.*;
+
+@Name("com.twardyece.dmtf.PolicyApplication")
+@Label("Policy Application")
+@Category({"Redfish Codegen", "Models"})
+@Description("Application of one pass of the model generation policies to the set of models")
+@StackTrace(false)
+class PolicyApplicationEvent extends Event {
+    @Label("Policies")
+    @Description("The policies applied together in the pass")
+    String policies;
+
+    @Label("Index")
+    @Description("Position of the pass in the order of application")
+    int index;
+
+    @Label("Models Before")
+    int modelsBefore;
+
+    @Label("Models After")
+    int modelsAfter;
+}
@@ -1,14 +1,19 @@
 package com.twardyece.dmtf;
 
-import com.github.mustachejava.DefaultMustacheFactory;
 import com.twardyece.dmtf.component.*;
 import com.twardyece.dmtf.component.match.ActionComponentMatcher;
 import com.twardyece.dmtf.component.match.IComponentMatcher;
 import com.twardyece.dmtf.component.match.StandardComponentMatcher;
+import com.twardyece.dmtf.manifest.GenerationManifest;
+import com.twardyece.dmtf.manifest.IncrementalBuild;
+import com.twardyece.dmtf.manifest.SchemaDependencyGraph;
 import com.twardyece.dmtf.model.ModelResolver;
 import com.twardyece.dmtf.model.context.ModelContext;
 import com.twardyece.dmtf.model.context.factory.*;
 import com.twardyece.dmtf.model.mapper.*;
+import com.twardyece.dmtf.output.IOutputSink;
+import com.twardyece.dmtf.output.IOutputSinkFactory;
+import com.twardyece.dmtf.output.OutputSinkFactory;
 import com.twardyece.dmtf.policies.*;
 import com.twardyece.dmtf.registry.RegistryContext;
 import com.twardyece.dmtf.registry.RegistryFactory;
@@ -18,12 +23,17 @@ import com.twardyece.dmtf.rust.RustConfig;
 import com.twardyece.dmtf.rust.RustType;
 import com.twardyece.dmtf.specification.*;
 import com.twardyece.dmtf.specification.file.DirectoryFileList;
+import com.twardyece.dmtf.specification.ir.DataModel;
+import com.twardyece.dmtf.specification.ir.PathNode;
+import com.twardyece.dmtf.specification.ir.SchemaNode;
+import com.twardyece.dmtf.template.CompiledTemplateEngine;
 import com.twardyece.dmtf.text.CaseConversion;
 import com.twardyece.dmtf.text.PascalCaseName;
 import com.twardyece.dmtf.text.SnakeCaseName;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.PathItem;
-import io.swagger.v3.oas.models.media.Schema;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
 import org.apache.commons.cli.*;
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.apache.commons.lang3.tuple.Pair;
@@ -38,9 +48,12 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.net.URISyntaxException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
@@ -53,17 +66,78 @@ public class RedfishCodegen {
     private final String specDirectory;
     private final boolean clientMode;
     private final ModelResolver modelResolver;
-    private final ComponentMatchService componentMatchService;
-    private final IModelGenerationPolicy[] modelGenerationPolicies;
-    private final OpenAPI document;
+    private ComponentMatchService componentMatchService;
+    private final ModelPolicyPipeline modelPolicyPipeline;
+    private final OpenapiSpecification specification;
+    private DataModel document;
     private final FileFactory fileFactory;
     private final RegistryFileDiscovery registryFileDiscovery;
+    private final Path registryDirectory;
+    private Path privilegeRegistryFile;
+    private final GeneratorOptions generatorOptions;
+    // Collapses identical models, or null if they are all generated
+    private final ModelDeduplicationPolicy deduplicationPolicy;
+    private final IOutputSinkFactory outputSinkFactory;
+    private final GenerationStatistics statistics;
+    // Options that affect the generated files, beyond the content of the input files
+    private final List<String> generatorParameters;
     static final Logger LOGGER = LoggerFactory.getLogger(RedfishCodegen.class);
+    private static final Set<String> COMPONENTS = Set.of("models", "routing");
+    private static final String HEALTH_MODEL = "Resource_Health";
+    private static final PascalCaseName BASE_REGISTRY = new PascalCaseName("Base");
+    // Models which derive valuable::Valuable, along with every model they refer to
+    private static final Pattern VALUABLE_MODELS = Pattern.compile("^(Event|Message)_v[0-9_]+(Event|Message)$");
+    // Models used by the registries, the routing crate and redfish-core, which are always generated and compiled
+    private static final Pattern REQUIRED_MODELS = Pattern.compile(
+            "^((Event|Message)_v[0-9_]+(Event|Message)|RedfishError.*|Resource_Health|Privileges_PrivilegeType|odata-v4_context)$");
+    private static final String ODATA_SERVICE_DOCUMENT_PATH = "/redfish/v1/odata";
+    private static final Path CRATE_MANIFEST = Path.of("Cargo.toml");
+    private static final Pattern PRIVILEGE_REGISTRY = Pattern.compile("Redfish_(?<version>[0-9.]+)_PrivilegeRegistry.json");
+    // How long the inputs must be left alone after a change before they are regenerated in watch mode
+    private static final Duration WATCH_QUIET_PERIOD = Duration.ofMillis(200);
 
-    RedfishCodegen(String specDirectory, String specVersion, String registryDirectory, boolean clientMode) throws IOException {
-        this.specDirectory = specDirectory;
-        this.specVersion = specVersion;
-        this.clientMode = clientMode;
+    /**
+     * The options given on the command line that determine what is generated, and how.
+     * @param threads The number of files that are parsed, or rendered, concurrently
+     * @param cacheDirectory Where the parsed specification is cached between runs, or null to always parse it
+     * @param incremental Only regenerate the files affected by changes to the inputs since the previous run
+     * @param pruningRoots The URIs and schemas from which the generated models are pruned, or null to generate all
+     * @param featureGating Gate each schema module of the models behind a cargo feature
+     * @param coalesceModules Write each model inline, in the file of its parent module
+     * @param deduplication Collapse models that generate identical definitions into re-exports of one of them
+     */
+    record GeneratorOptions(String specDirectory, String specVersion, String registryDirectory, boolean clientMode,
+                            int threads, String cacheDirectory, boolean incremental, List<String> pruningRoots,
+                            boolean featureGating, boolean coalesceModules, boolean deduplication) {
+        static GeneratorOptions of(CommandLine command) {
+            List<String> pruningRoots = command.hasOption("prune")
+                    ? Arrays.stream(command.getOptionValue("prune").split(",")).map(String::trim).toList()
+                    : null;
+            return new GeneratorOptions(
+                    command.getOptionValue("specDirectory"),
+                    command.getOptionValue("specVersion"),
+                    command.getOptionValue("registryDirectory"),
+                    command.hasOption("clientMode"),
+                    Integer.parseInt(command.getOptionValue("threads",
+                            String.valueOf(Runtime.getRuntime().availableProcessors()))),
+                    command.getOptionValue("cacheDirectory"),
+                    command.hasOption("incremental") || command.hasOption("watch"),
+                    pruningRoots,
+                    command.hasOption("features"),
+                    command.hasOption("coalesce"),
+                    command.hasOption("deduplicate"));
+        }
+    }
+
+    RedfishCodegen(GeneratorOptions generatorOptions, GenerationStatistics statistics, SchemaFileStore schemaFileStore,
+                   IOutputSinkFactory outputSinkFactory) throws IOException {
+        this.generatorOptions = generatorOptions;
+        this.specDirectory = generatorOptions.specDirectory();
+        this.specVersion = generatorOptions.specVersion();
+        this.clientMode = generatorOptions.clientMode();
+        this.outputSinkFactory = outputSinkFactory;
+        this.statistics = statistics;
+        this.statistics.enter("setup");
 
         SimpleModelIdentifierFactory redfishModelIdentifierFactory = new SimpleModelIdentifierFactory(
                 Pattern.compile("Redfish(?<model>[a-zA-Z0-9]*)"), "model");
@@ -109,18 +183,21 @@ public class RedfishCodegen {
                 Pattern.compile("^Resource_(?<model>[a-zA-Z0-9]*)$"), "model");
         factories[4] = new UnionContextFactory(this.modelResolver, new UnionVariantParser(identifierParsers));
         factories[5] = new UnitContextFactory();
-        this.fileFactory = new FileFactory(new DefaultMustacheFactory(), factories);
+        this.fileFactory = new FileFactory(new CompiledTemplateEngine(), factories, this.statistics);
 
         // These intrusive/low-level policies need to be applied to the set of models as a whole, but should not be
         // coupled to context factories.
-        this.modelGenerationPolicies = new IModelGenerationPolicy[5];
-        this.modelGenerationPolicies[0] = new ModelDeletionPolicy(Pattern.compile(odataModelPattern + "|.*_(EventRecord)?Oem(Actions)?"));
-        this.modelGenerationPolicies[1] = new ModelDeletionPolicy(duplicatedSchemas, false);
-        this.modelGenerationPolicies[2] = new ODataPropertyPolicy(new ODataTypeIdentifier(), this.clientMode);
+        IModelGenerationPolicy[] modelGenerationPolicies = new IModelGenerationPolicy[5
+                + (null != generatorOptions.pruningRoots() ? 1 : 0) + (generatorOptions.deduplication() ? 1 : 0)];
+        // Patterns are searched for, rather than matched against the whole name, so a leading ".*" is redundant, and
+        // would be retried from every position in the name.
+        modelGenerationPolicies[0] = new ModelDeletionPolicy(Pattern.compile(odataModelPattern + "|_(EventRecord)?Oem(Actions)?"));
+        modelGenerationPolicies[1] = new ModelDeletionPolicy(duplicatedSchemas, false);
+        modelGenerationPolicies[2] = new ODataPropertyPolicy(new ODataTypeIdentifier(), this.clientMode);
         JsonSchemaMapper[] jsonSchemaMappers = new JsonSchemaMapper[2];
 
         Pattern versionParsePattern = Pattern.compile("([0-9]+)_([0-9]+)_([0-9]+)");
-        VersionedFileDiscovery versionedFileDiscovery = new VersionedFileDiscovery(new DirectoryFileList(Paths.get(specDirectory + "/json-schema")));
+        VersionedFileDiscovery versionedFileDiscovery = new VersionedFileDiscovery(new DirectoryFileList(Paths.get(this.specDirectory + "/json-schema")));
         Optional<VersionedFileDiscovery.VersionedFile> redfishErrorJsonSchema = versionedFileDiscovery.getFile(
                 "redfish-error", Pattern.compile("redfish-error.v(?<version>" + versionParsePattern + ").json"), "version", versionParsePattern);
         if (redfishErrorJsonSchema.isEmpty()) {
@@ -138,25 +215,65 @@ public class RedfishCodegen {
         jsonSchemaMappers[1] = new JsonSchemaMapper(
                 odataModelIdentifierFactory,
                 odataJsonSchema.get().file.getFileName().toString());
-        this.modelGenerationPolicies[3] = new ModelMetadataPolicy(new JsonSchemaIdentifier(jsonSchemaMappers));
-        this.modelGenerationPolicies[4] = new AdditionalModelAttributesPolicy(
-                Pattern.compile("^(Event|Message)_v[0-9_]+(Event|Message)$"),
+        this.generatorParameters = List.of(this.specVersion, String.valueOf(this.clientMode),
+                redfishErrorJsonSchema.get().file.getFileName().toString(),
+                odataJsonSchema.get().file.getFileName().toString(), String.valueOf(generatorOptions.pruningRoots()),
+                String.valueOf(generatorOptions.featureGating()), String.valueOf(generatorOptions.coalesceModules()),
+                String.valueOf(generatorOptions.deduplication()));
+        modelGenerationPolicies[3] = new ModelMetadataPolicy(new JsonSchemaIdentifier(jsonSchemaMappers));
+        modelGenerationPolicies[4] = new AdditionalModelAttributesPolicy(
+                VALUABLE_MODELS,
                 CfgAttrExpression.withEqualityPredicate("feature", "\"valuable\"")
                         .attribute("derive(valuable::Valuable)")
                         .toRustExpression(),
                 modelResolver,
                 true
         );
+        if (null != generatorOptions.pruningRoots()) {
+            modelGenerationPolicies[5] = new ModelReachabilityPolicy(
+                    () -> this.getReachabilityRoots(generatorOptions.pruningRoots()));
+        }
+        if (generatorOptions.deduplication()) {
+            // Must be the last policy, so that it sees the final definition of every model.
+            this.deduplicationPolicy = new ModelDeduplicationPolicy(this::getDescribedModels);
+            modelGenerationPolicies[modelGenerationPolicies.length - 1] = this.deduplicationPolicy;
+        } else {
+            this.deduplicationPolicy = null;
+        }
+        this.modelPolicyPipeline = new ModelPolicyPipeline(modelGenerationPolicies);
 
         // Registry generation
-        Path registryDirectoryPath = Path.of(registryDirectory);
-        this.registryFileDiscovery = new RegistryFileDiscovery(registryDirectoryPath);
-
-        PrivilegeRegistry privilegeRegistry = new PrivilegeRegistry(
-                this.registryFileDiscovery
-                        .getRegistry("PrivilegeMapping", Pattern.compile("Redfish_(?<version>[0-9.]+)_PrivilegeRegistry.json"))
-                        .get()
-                        .file,
+        this.registryDirectory = Path.of(generatorOptions.registryDirectory());
+        this.registryFileDiscovery = new RegistryFileDiscovery(this.registryDirectory);
+        this.loadPrivilegeRegistry();
+
+        Pattern[] ignoredSchemaFiles = new Pattern[2];
+        ignoredSchemaFiles[0] = Pattern.compile("^odata.*$");
+        ignoredSchemaFiles[1] = Pattern.compile("^redfish-payload-annotations-.*$");
+        this.specification = new OpenapiSpecification(Path.of(this.specDirectory), ignoredSchemaFiles,
+                promotedSchemaModelTypeMapper, OpenapiSpecification.Options.defaults()
+                        .withParallelism(generatorOptions.threads())
+                        .withCache(null != generatorOptions.cacheDirectory()
+                                ? new SpecificationCache(Path.of(generatorOptions.cacheDirectory())) : null)
+                        .withStatistics(this.statistics)
+                        .withStore(schemaFileStore));
+        this.loadSpecification();
+    }
+
+    private void loadSpecification() throws IOException {
+        OpenAPI redfishDataModel = this.specification.getRedfishDataModel();
+        // Only the compact representation is kept, so the parsed document can be collected as soon as it is translated.
+        this.statistics.enter("schema translation");
+        this.document = DataModel.of(redfishDataModel);
+        this.statistics.stop();
+    }
+
+    private void loadPrivilegeRegistry() throws IOException {
+        this.privilegeRegistryFile = this.registryFileDiscovery
+                .getRegistry("PrivilegeMapping", PRIVILEGE_REGISTRY)
+                .get()
+                .file;
+        PrivilegeRegistry privilegeRegistry = new PrivilegeRegistry(this.privilegeRegistryFile,
                 CratePath.parse("redfish_core::privilege"));
         IComponentMatcher[] componentMatchers = new IComponentMatcher[2];
         List<Pair<PathItem.HttpMethod, String>> unprotectedOperations = new ArrayList<>();
@@ -167,23 +284,35 @@ public class RedfishCodegen {
                 new ComponentTypeTranslationService(this.modelResolver),
                 unprotectedOperations);
         componentMatchers[1] = new ActionComponentMatcher();
-        this.componentMatchService = new ComponentMatchService(componentMatchers, new PathService());
+        this.componentMatchService = new ComponentMatchService(componentMatchers, this.statistics);
+    }
 
-        Pattern[] ignoredSchemaFiles = new Pattern[2];
-        ignoredSchemaFiles[0] = Pattern.compile("^odata.*$");
-        ignoredSchemaFiles[1] = Pattern.compile("^redfish-payload-annotations-.*$");
-        OpenapiSpecification specification = new OpenapiSpecification(Path.of(specDirectory), ignoredSchemaFiles,
-                promotedSchemaModelTypeMapper);
-        this.document = specification.getRedfishDataModel();
+    /**
+     * Bring the state kept between runs up to date with changes to the input files. The specification is only reloaded
+     * if a file in the openapi directory changed, and the privilege registry only if it changed. Everything else is
+     * read afresh by each run.
+     * @param changes The files that changed since the previous run
+     */
+    void reload(Collection<Path> changes) throws IOException {
+        Path openapiDirectory = Path.of(this.specDirectory, "openapi").toAbsolutePath().normalize();
+        Path registryDirectory = this.registryDirectory.toAbsolutePath().normalize();
+        if (changes.stream().anyMatch((path) -> path.startsWith(openapiDirectory))) {
+            this.loadSpecification();
+        }
+        if (changes.stream().anyMatch((path) -> path.equals(registryDirectory)
+                || (path.startsWith(registryDirectory) && PRIVILEGE_REGISTRY.matcher(path.getFileName().toString()).find()))) {
+            this.loadPrivilegeRegistry();
+        }
     }
 
     private Map<String, ModuleFile<ModelContext>> buildModels() {
         // Translate each schema into a ModuleFile with associated model context
+        this.statistics.enter("model building");
         Map<String, ModuleFile<ModelContext>> models = new HashMap<>();
-        for (Map.Entry<String, Schema> schema : this.document.getComponents().getSchemas().entrySet()) {
+        for (Map.Entry<String, SchemaNode> schema : this.document.getSchemas().entrySet()) {
             RustType result = this.modelResolver.resolvePath(schema.getKey());
             if (null == result) {
-                LOGGER.warn("no match for model " + schema.getValue().getName());
+                LOGGER.warn("no match for model " + schema.getKey());
                 continue;
             }
 
@@ -193,36 +322,129 @@ public class RedfishCodegen {
             }
         }
 
-        // Apply model generation policies
-        for (IModelGenerationPolicy policy : this.modelGenerationPolicies) {
-            policy.apply(models);
+        // Apply model generation policies. Consecutive policies that visit one model at a time share a single pass.
+        List<ModelPolicyPipeline.Pass> passes = this.modelPolicyPipeline.getPasses();
+        for (int i = 0; i < passes.size(); ++i) {
+            ModelPolicyPipeline.Pass pass = passes.get(i);
+            this.statistics.enter("policy pass " + i + " (" + pass + ")");
+            int count = models.size();
+            PolicyApplicationEvent event = new PolicyApplicationEvent();
+            event.begin();
+            pass.apply(models);
+            event.end();
+            if (event.shouldCommit()) {
+                event.policies = pass.toString();
+                event.index = i;
+                event.modelsBefore = count;
+                event.modelsAfter = models.size();
+                event.commit();
+            }
+        }
+        for (int i = 0; i < this.modelPolicyPipeline.getPolicyCount(); ++i) {
+            // The same policy may be applied more than once, with different parameters.
+            String policy = "policy " + i + " (" + this.modelPolicyPipeline.getPolicy(i).getClass().getSimpleName() + ")";
+            this.statistics.add("models removed by " + policy, this.modelPolicyPipeline.getRemoved(i));
+        }
+        this.statistics.add("models generated", models.size());
+        if (null != this.deduplicationPolicy) {
+            long aliases = models.values().stream().filter((model) -> null != model.getContext().aliasContext).count();
+            int separated = this.deduplicationPolicy.getSeparatedDuplicateCount();
+            this.statistics.add("models collapsed into re-exports", aliases);
+            this.statistics.add("models identical to a model of another schema", separated);
+            LOGGER.info("Collapsed " + aliases + " of " + models.size() + " models into re-exports of identical "
+                    + "models, leaving " + (models.size() - aliases) + " type definitions");
+            if (0 < separated) {
+                LOGGER.info(separated + " models are identical to a model of another schema, but are not collapsed "
+                        + "into it, so that schemas do not depend on each other");
+            }
         }
 
         return models;
     }
 
-    private void generateModels(Map<String, ModuleFile<ModelContext>> models) throws IOException {
-        // Generate all the models
-        Map<String, ModuleContext> intermediateModules = new HashMap<>();
+    private void generateModels(Map<String, ModuleFile<ModelContext>> models, ModelFeatures features,
+                                SchemaDependencyGraph dependencyGraph, IncrementalBuild build,
+                                ModuleFileEmitter emitter, IOutputSink sink) throws IOException {
+        // Register every model with its parent modules before rendering, so that the submodules of each intermediate
+        // module are collected in the same order as a serial run.
+        Map<String, ModuleContext> intermediateModules = new ConcurrentHashMap<>();
         for (ModuleFile<ModelContext> modelFile : models.values()) {
             modelFile.getContext().moduleContext.registerModule(intermediateModules);
-            modelFile.generate();
+        }
+
+        if (null != features) {
+            ModuleContext modelsModule = intermediateModules.get(
+                    CratePath.crateLocal(List.of(RustConfig.MODELS_BASE_MODULE)).toString());
+            for (ModuleContext.Submodule submodule : modelsModule.submodules()) {
+                String feature = features.getFeature(submodule.snakeCaseName);
+                if (null != feature) {
+                    modelsModule.addNamedSubmoduleWithFeature(submodule.snakeCaseName, feature);
+                }
+            }
+        }
+
+        // Write each model inline, in the file of its parent module. The parent is rendered on every run, and the
+        // models along with it, so there is nothing for the incremental build to skip. The file of each model that was
+        // written by a run without -coalesce is deleted, since nothing refers to it anymore.
+        if (this.generatorOptions.coalesceModules()) {
+            int deleted = 0;
+            for (ModuleFile<ModelContext> modelFile : models.values()) {
+                intermediateModules.get(modelFile.getContext().rustType.getPath().toString())
+                        .addInlineSubmodule(modelFile);
+                if (sink.delete(modelFile.getPath().toPath())) {
+                    ++deleted;
+                }
+            }
+            if (0 < deleted) {
+                LOGGER.info("Deleted " + deleted + " model files from " + sink + ", which are now written inline");
+            }
+        } else {
+            // Generate all the models affected by changes to their inputs
+            emitter.emit(models.entrySet().stream()
+                    .filter((model) -> build.requiresGeneration(model.getValue(),
+                            () -> this.getModelInputs(model.getValue().getContext(), model.getKey(), dependencyGraph)))
+                    .map(Map.Entry::getValue)
+                    .toList(), sink);
         }
 
         // Generate intermediate modules
-        for (ModuleContext module : intermediateModules.values()) {
-            ModuleFile<ModuleContext> file = this.fileFactory.makeModuleFile(module);
-            file.generate();
+        emitter.emit(intermediateModules.values().stream().map(this.fileFactory::makeModuleFile).toList(),
+                sink);
+    }
+
+    // An alias must be regenerated when its target changes, since the target may no longer be identical to it.
+    private Set<String> getModelInputs(ModelContext model, String schema, SchemaDependencyGraph dependencyGraph) {
+        if (null == model.aliasContext) {
+            return dependencyGraph.getModelInputs(schema);
         }
+
+        Set<String> inputs = new HashSet<>(dependencyGraph.getModelInputs(schema));
+        inputs.addAll(dependencyGraph.getModelInputs(model.aliasContext.model));
+        return inputs;
     }
 
-    public void generateModelsLib() throws IOException {
+    // The features are added to the manifest of the crate, if there is one. Otherwise, they are written to a file of
+    // their own, to be merged into the manifest by hand.
+    private void generateFeatures(ModelFeatures features, IOutputSink sink) throws IOException {
+        Optional<byte[]> manifest = sink.read(CRATE_MANIFEST);
+        Path destination = CRATE_MANIFEST;
+        if (manifest.isEmpty()) {
+            destination = Path.of("features.toml");
+            LOGGER.warn("No " + CRATE_MANIFEST + " in " + sink + ", writing the model features to " + destination);
+        }
+
+        String contents = features.updateManifest(manifest.map((bytes) -> new String(bytes, StandardCharsets.UTF_8))
+                .orElse(""));
+        sink.write(destination, contents.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public void generateModelsLib(ModuleFileEmitter emitter, IOutputSink sink) throws IOException {
         ModuleContext module = new ModuleContext(CratePath.crateRoot());
         LibContext context = new LibContext(module, specVersion, getResourceFileAsString("codegen.rs"));
         ModuleFile<LibContext> file = this.fileFactory.makeLibFile(context);
         file.getContext().moduleContext.addNamedSubmodule(RustConfig.MODELS_BASE_MODULE);
         file.getContext().moduleContext.addNamedSubmodule(RustConfig.REGISTRY_BASE_MODULE);
-        file.generate();
+        emitter.emit(file, sink);
     }
 
     /**
@@ -243,11 +465,13 @@ public class RedfishCodegen {
         }
     }
 
-    private void generateRouting(Map<PascalCaseName, RegistryContext> registries) throws IOException, URISyntaxException, ParserConfigurationException, SAXException {
+    private void generateRouting(Map<PascalCaseName, RegistryContext> registries, SchemaDependencyGraph dependencyGraph,
+                                 IncrementalBuild build, ModuleFileEmitter emitter, IOutputSink sink) throws IOException, URISyntaxException, ParserConfigurationException, SAXException {
         ModuleContext moduleContext = new ModuleContext(CratePath.crateRoot());
         LibContext libContext = new LibContext(moduleContext, this.specVersion);
         ModuleFile<LibContext> libFile = this.fileFactory.makeLibFile(libContext);
-        Map<String, PathItem> paths = this.document.getPaths();
+        // Copy the paths, since the document is shared with the other components.
+        Map<String, PathNode> paths = new LinkedHashMap<>(this.document.getPaths());
 
         // Metadata router, a submodule of the routing module that handles the OData metadata document.
         MetadataFileDiscovery fileDiscovery = new MetadataFileDiscovery(Path.of(this.specDirectory + "/csdl"));
@@ -256,7 +480,7 @@ public class RedfishCodegen {
         MetadataRoutingContext metadataContext = new MetadataRoutingContext(new ModuleContext(metadataPath),
         fileDiscovery.getServiceRootVersion(), fileDiscovery.getReferences());
         ModuleFile<MetadataRoutingContext> metadataFile = this.fileFactory.makeMetadataRoutingFile(metadataContext);
-        metadataFile.generate();
+        emitter.emit(metadataFile, sink);
         libFile.getContext().moduleContext.addNamedSubmodule(metadata);
         paths.remove("/redfish/v1/$metadata");
 
@@ -265,29 +489,51 @@ public class RedfishCodegen {
         CratePath odataPath = CratePath.parse("crate::" + odata);
         ODataContext odataContext = new ODataContext(new ModuleContext(odataPath));
         ModuleFile<ODataContext> odataFile = this.fileFactory.makeODataRoutingFile(odataContext);
-        odataFile.generate();
+        emitter.emit(odataFile, sink);
         libFile.getContext().moduleContext.addNamedSubmodule(odata);
         paths.remove("/redfish/v1/odata");
 
         // The rest of the components
-        RegistryContext baseRegistry = registries.get(new PascalCaseName("Base"));
-        baseRegistry.rustType.getPath().getComponents().set(0, new SnakeCaseName("redfish_models"));
+        RegistryContext baseRegistry = registries.get(BASE_REGISTRY);
+        List<SnakeCaseName> baseRegistryPath = new ArrayList<>(baseRegistry.rustType.getPath().getComponents());
+        baseRegistryPath.set(0, new SnakeCaseName("redfish_models"));
+        RustType baseRegistryType = new RustType(CratePath.relative(baseRegistryPath),
+                (PascalCaseName) baseRegistry.rustType.getName());
         int pathDepth = libFile.getContext().moduleContext.path.getComponents().size();
         ComponentRepository componentRepository = new ComponentRepository(
                 new ComponentTypeTranslationService(this.modelResolver),
-                new PathService(),
-                baseRegistry.rustType);
+                baseRegistryType);
+        // Every component depends on the top-level document, the privilege registry and the base registry, in addition
+        // to the schemas referenced by its own paths and those of its subcomponents.
+        Set<String> routingInputs = new HashSet<>(List.of(
+                dependencyGraph.getDefaultSource(),
+                GenerationManifest.inputName(this.registryDirectory, this.privilegeRegistryFile),
+                GenerationManifest.inputName(this.registryDirectory, this.getRegistryFiles().get(BASE_REGISTRY))));
+        List<ModuleFile<ComponentContext>> traitFiles = new ArrayList<>();
+        this.statistics.enter("component matching");
         Iterator<ComponentContext> iterator = this.componentMatchService.getComponents(paths, componentRepository);
         while (iterator.hasNext()) {
             ComponentContext component = iterator.next();
             if (component.moduleContext.path.getComponents().size() == pathDepth + 1) {
                 libFile.getContext().moduleContext.addNamedSubmodule(component.moduleContext.path.getLastComponent());
             }
+
             ModuleFile<ComponentContext> traitFile = this.fileFactory.makeTraitFile(component);
-            traitFile.generate();
+            if (build.requiresGeneration(traitFile, () -> {
+                List<String> componentPaths = new ArrayList<>(component.paths);
+                component.subcomponents.forEach((subcomponent) -> componentPaths.add(subcomponent.componentPath()));
+                Set<String> inputs = new HashSet<>(routingInputs);
+                inputs.addAll(dependencyGraph.getPathInputs(componentPaths.stream().map(this::getPathNode).toList()));
+                return inputs;
+            })) {
+                traitFiles.add(traitFile);
+            }
+            this.statistics.increment("components");
         }
 
-        libFile.generate();
+        this.statistics.enter("file emission");
+        emitter.emit(traitFiles, sink);
+        emitter.emit(libFile, sink);
     }
 
     private Map<PascalCaseName, RegistryContext> buildRegistries(RegistryFactory factory) throws IOException {
@@ -305,11 +551,14 @@ public class RedfishCodegen {
         return registryContextMap;
     }
 
-    private void generateRegistries(Map<PascalCaseName, RegistryContext> registries) throws IOException {
+    private void generateRegistries(Map<PascalCaseName, RegistryContext> registries, Set<String> messageInputs,
+                                    IncrementalBuild build, ModuleFileEmitter emitter, IOutputSink sink) throws IOException {
         CratePath registryModulePath = CratePath.parse("crate::" + RustConfig.REGISTRY_BASE_MODULE);
         ModuleContext registriesModule = new ModuleContext(registryModulePath);
+        Map<PascalCaseName, Path> registryFiles = this.getRegistryFiles();
 
-        for (RegistryContext registry : registries.values()) {
+        for (Map.Entry<PascalCaseName, RegistryContext> entry : registries.entrySet()) {
+            RegistryContext registry = entry.getValue();
             registriesModule.addNamedSubmodule(CaseConversion.toSnakeCase(registry.name()));
             CratePath path = registryModulePath;
             List<SnakeCaseName> components = registry.rustType.getPath().getComponents();
@@ -328,35 +577,238 @@ public class RedfishCodegen {
 
             for (ModuleContext context : moduleContexts) {
                 ModuleFile<ModuleContext> file = this.fileFactory.makeModuleFile(context);
-                file.generate();
+                emitter.emit(file, sink);
             }
 
-            registryFile.generate();
+            Path registryInput = registryFiles.get(entry.getKey());
+            if (build.requiresGeneration(registryFile, () -> {
+                Set<String> inputs = new HashSet<>(messageInputs);
+                inputs.add(GenerationManifest.inputName(this.registryDirectory, registryInput));
+                return inputs;
+            })) {
+                emitter.emit(registryFile, sink);
+            }
         }
 
         ModuleFile<ModuleContext> registriesFile = this.fileFactory.makeModuleFile(registriesModule);
-        registriesFile.generate();
+        emitter.emit(registriesFile, sink);
     }
 
-    public void generate(String component) throws IOException, URISyntaxException, ParserConfigurationException, SAXException {
+    /**
+     * Generate one or more components. The models and registries are built once, and shared between all components.
+     * @param components The components to generate, mapped to the destination each is generated into: the root directory
+     *                   of a crate, or an archive.
+     */
+    public void generate(Map<String, Path> components) throws IOException, URISyntaxException, ParserConfigurationException, SAXException {
+        for (String component : components.keySet()) {
+            if (!COMPONENTS.contains(component)) {
+                throw new RuntimeException("Unknown component " + component);
+            }
+        }
+
         Map<String, ModuleFile<ModelContext>> models = this.buildModels();
 
-        RustType messageType = this.getMessageType(models);
-        RustType health = this.modelResolver.resolvePath("Resource_Health");
+        ModelFeatures features = null;
+        if (this.generatorOptions.featureGating()) {
+            features = ModelFeatures.of(models, this.getRequiredModels(components.containsKey("routing")));
+            this.statistics.add("model modules gated by features", features.getGatedModuleCount());
+            LOGGER.info("Gated " + features.getGatedModuleCount() + " model modules by cargo features, leaving "
+                    + features.getUngatedModuleCount() + " modules that are always compiled");
+        }
+
+        this.statistics.enter("registry building");
+        String messageModel = this.getMessageModel(models);
+        RustType messageType = models.get(messageModel).getContext().rustType;
+        RustType health = this.modelResolver.resolvePath(HEALTH_MODEL);
         RegistryFactory factory = new RegistryFactory(messageType, health);
         Map<PascalCaseName, RegistryContext> registries = this.buildRegistries(factory);
-        switch (component) {
-            case "models" -> {
-                this.generateModels(models);
-                this.generateRegistries(registries);
-                this.generateModelsLib();
+
+        this.statistics.add("registries", registries.size());
+
+        this.statistics.enter("dependency analysis");
+        Path openapiDirectory = Path.of(this.specDirectory, "openapi");
+        Map<String, String> inputs = this.generatorOptions.incremental()
+                ? IncrementalBuild.digestInputs(List.of(openapiDirectory, this.registryDirectory), List.of(".yaml", ".json"))
+                : Map.of();
+        SchemaDependencyGraph dependencyGraph = new SchemaDependencyGraph(this.document, inputs.keySet(),
+                GenerationManifest.inputName(openapiDirectory, openapiDirectory.resolve("openapi.yaml")), VALUABLE_MODELS);
+        Set<String> messageInputs = new HashSet<>(List.of(dependencyGraph.getSource(messageModel),
+                dependencyGraph.getSource(HEALTH_MODEL)));
+
+        try (ModuleFileEmitter emitter = new ModuleFileEmitter(this.generatorOptions.threads(), this.statistics)) {
+            for (Map.Entry<String, Path> component : components.entrySet()) {
+                List<String> parameters = new ArrayList<>(this.generatorParameters);
+                parameters.add(component.getKey());
+                this.statistics.enter("file emission");
+                try (IOutputSink sink = this.outputSinkFactory.open(component.getValue())) {
+                    IncrementalBuild build = this.generatorOptions.incremental()
+                            ? IncrementalBuild.open(sink, IncrementalBuild.fingerprint(parameters), inputs)
+                            : IncrementalBuild.disabled(sink);
+                    switch (component.getKey()) {
+                        case "models" -> {
+                            this.generateModels(models, features, dependencyGraph, build, emitter, sink);
+                            this.generateRegistries(registries, messageInputs, build, emitter, sink);
+                            this.generateModelsLib(emitter, sink);
+                            if (null != features) {
+                                this.generateFeatures(features, sink);
+                            }
+                        }
+                        case "routing" -> this.generateRouting(registries, dependencyGraph, build, emitter, sink);
+                    }
+
+                    build.save();
+                    sink.commit();
+                    if (this.generatorOptions.incremental()) {
+                        LOGGER.info(build.getUpToDate() + " files in " + sink + " are up to date with their inputs");
+                    }
+                }
+            }
+
+            LOGGER.info("Wrote " + emitter.getWritten() + " files, skipped " + emitter.getSkipped()
+                    + " unchanged files");
+            this.statistics.stop();
+            this.statistics.add("files written", emitter.getWritten());
+            this.statistics.add("files skipped", emitter.getSkipped());
+        }
+
+        LOGGER.debug("Model resolution cache: " + this.modelResolver.getCacheHits() + " hits, "
+                + this.modelResolver.getCacheMisses() + " misses");
+    }
+
+    /**
+     * Generate the components, then regenerate them each time the inputs change, until interrupted. The parsed
+     * specification, the model resolver and the compiled templates are kept between runs, and only the files affected
+     * by each change are regenerated. A run that fails is reported, and the next change is waited for as usual.
+     * @param components The components to generate, mapped to the root directory of the crate each is generated into.
+     */
+    public void watch(Map<String, Path> components) throws IOException {
+        List<Path> inputs = List.of(Path.of(this.specDirectory, "openapi"), Path.of(this.specDirectory, "csdl"),
+                this.registryDirectory);
+        // Start watching before the first run, so that changes made while it is running are not missed.
+        try (InputWatcher watcher = new InputWatcher(inputs, WATCH_QUIET_PERIOD)) {
+            this.watchIteration(components, List.of());
+            while (true) {
+                Set<Path> changes = watcher.take();
+                LOGGER.info(changes.size() + " input files changed: " + changes.stream().limit(5)
+                        .map((path) -> path.getFileName().toString()).collect(Collectors.joining(", "))
+                        + (changes.size() > 5 ? ", ..." : ""));
+                this.watchIteration(components, changes);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void watchIteration(Map<String, Path> components, Collection<Path> changes) {
+        long start = System.nanoTime();
+        try {
+            this.reload(changes);
+            this.generate(components);
+            LOGGER.info("Generated in " + (System.nanoTime() - start) / 1_000_000 + "ms, waiting for changes");
+        } catch (RuntimeException | IOException | URISyntaxException | ParserConfigurationException | SAXException e) {
+            LOGGER.error("Generation failed, waiting for changes", e);
+        }
+    }
+
+    public void generate(String component) throws IOException, URISyntaxException, ParserConfigurationException, SAXException {
+        this.generate(Map.of(component, Path.of("")));
+    }
+
+    /**
+     * Parse the argument to the -component option: a comma-separated list of components, each optionally followed by
+     * the root directory of the crate it should be generated into, e.g. "models=redfish-models,routing=redfish-axum".
+     * Components without a directory are generated into the current working directory. A directory whose name ends
+     * with ".zip" or ".tar" is instead the archive the crate is written to.
+     */
+    static Map<String, Path> parseComponents(String value) {
+        Map<String, Path> components = new LinkedHashMap<>();
+        for (String entry : value.split(",")) {
+            String[] parts = entry.trim().split("=", 2);
+            Path outputDirectory = 2 == parts.length ? Path.of(parts[1]) : Path.of("");
+            if (null != components.put(parts[0], outputDirectory)) {
+                throw new RuntimeException("Component " + parts[0] + " specified more than once");
+            }
+        }
+
+        return components;
+    }
+
+    private Map<PascalCaseName, Path> getRegistryFiles() {
+        Map<PascalCaseName, Path> registryFiles = new HashMap<>();
+        for (RegistryFileDiscovery.Registry registry : this.registryFileDiscovery.getRegistries()) {
+            registryFiles.put(new PascalCaseName(registry.name), registry.file);
+        }
+
+        return registryFiles;
+    }
+
+    /**
+     * The models from which the generated models are pruned: those referred to by the operations on each path at or
+     * beneath a root that is a URI, e.g. /redfish/v1/Chassis, and every model defined by the schema named by any other
+     * root, e.g. PowerSupply. The models required by the other generated code are always included.
+     */
+    private Set<String> getReachabilityRoots(List<String> roots) {
+        Set<String> models = new HashSet<>();
+        List<PathNode> pathNodes = new ArrayList<>();
+        pathNodes.add(this.getPathNode(ODATA_SERVICE_DOCUMENT_PATH));
+        for (String root : roots) {
+            List<String> matches;
+            if (root.startsWith("/")) {
+                String prefix = root.endsWith("/") ? root.substring(0, root.length() - 1) : root;
+                matches = this.document.getPaths().keySet().stream()
+                        .filter((path) -> path.equals(prefix) || path.startsWith(prefix + "/"))
+                        .toList();
+                matches.forEach((path) -> pathNodes.add(this.document.getPaths().get(path)));
+            } else {
+                matches = this.document.getSchemas().keySet().stream()
+                        .filter((schema) -> schema.equals(root) || schema.startsWith(root + "_"))
+                        .toList();
+                models.addAll(matches);
+            }
+
+            if (matches.isEmpty()) {
+                LOGGER.warn("Pruning root " + root + " matches no path or schema");
             }
-            case "routing" -> this.generateRouting(registries);
-            default -> throw new RuntimeException("Unknown component " + component);
         }
+
+        models.addAll(SchemaDependencyGraph.getPathReferences(pathNodes.stream().filter(Objects::nonNull).toList()));
+        this.document.getSchemas().keySet().stream()
+                .filter((schema) -> REQUIRED_MODELS.matcher(schema).find())
+                .forEach(models::add);
+        return models;
     }
 
-    private RustType getMessageType(Map<String, ModuleFile<ModelContext>> models) {
+    /**
+     * The models that must always be compiled: those used by the registries and the hand-written crates, and, if the
+     * routing crate is generated by this run, the models of the requests and responses of its operations. The routing
+     * crate depends on the models crate without enabling any of its features, so these must not be gated.
+     */
+    private Set<String> getRequiredModels(boolean routing) {
+        Set<String> models = new HashSet<>();
+        if (routing) {
+            models.addAll(SchemaDependencyGraph.getPathReferences(this.document.getPaths().values()));
+        }
+        this.document.getSchemas().keySet().stream()
+                .filter((schema) -> REQUIRED_MODELS.matcher(schema).find())
+                .forEach(models::add);
+        return models;
+    }
+
+    /**
+     * The models whose json-schema is used, and so must not be collapsed with a model described by a different one:
+     * those that are the body of a request or response of an operation, which the crates serving them describe by
+     * Metadata::JSON_SCHEMA, and the models required by the other generated code.
+     */
+    private Set<String> getDescribedModels() {
+        return this.getRequiredModels(true);
+    }
+
+    private PathNode getPathNode(String path) {
+        PathNode pathNode = this.document.getPaths().get(path);
+        return null != pathNode ? pathNode : this.document.getPaths().get(path + "/");
+    }
+
+    private String getMessageModel(Map<String, ModuleFile<ModelContext>> models) {
         // TODO: Utilize VersionedFileDiscovery for this?
         Version latestVersion = models.keySet().stream()
                 .filter((k) -> k.startsWith("Message_"))
@@ -373,9 +825,27 @@ public class RedfishCodegen {
                 .max(Version::compareTo)
                 .get();
 
-        String messageModel = "Message_v" + latestVersion.major + "_" + latestVersion.minor + "_" + latestVersion.patch
-                + "_Message";
-        return models.get(messageModel).getContext().rustType;
+        return "Message_v" + latestVersion.major + "_" + latestVersion.minor + "_" + latestVersion.patch + "_Message";
+    }
+
+    /**
+     * Start a flight recording with the default (low overhead) settings. The generator's events are enabled by default,
+     * so they may also be recorded by starting the JVM with -XX:StartFlightRecording.
+     * @param destination The file the recording is written to when it is closed
+     */
+    private static Recording startRecording(Path destination) throws IOException {
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration("default");
+        } catch (java.text.ParseException e) {
+            throw new RuntimeException(e);
+        }
+
+        Recording recording = new Recording(configuration);
+        recording.setName("redfish-codegen");
+        recording.setDestination(destination);
+        recording.start();
+        return recording;
     }
 
     public static void main(String[] args) {
@@ -388,10 +858,55 @@ public class RedfishCodegen {
         Option registryDirectoryOption = new Option("registryDirectory", true,
                 "Directory containing registry definition files");
         registryDirectoryOption.setRequired(true);
-        Option componentOption = new Option("component", true, "Data model component to generate");
+        Option componentOption = new Option("component", true,
+                "Comma-separated list of data model components to generate, each optionally given as component=directory");
         componentOption.setRequired(true);
         Option clientModeOption = new Option("clientMode", false, "Generate models for redfish clients");
         clientModeOption.setRequired(false);
+        Option threadsOption = new Option("threads", true,
+                "Maximum number of worker threads (defaults to the number of available processors)");
+        threadsOption.setRequired(false);
+        Option cacheDirectoryOption = new Option("cacheDirectory", true,
+                "Directory used to cache the parsed specification between runs");
+        cacheDirectoryOption.setRequired(false);
+        Option incrementalOption = new Option("incremental", false,
+                "Only regenerate files affected by changes to the inputs since the previous run");
+        incrementalOption.setRequired(false);
+        Option statsOption = new Option("stats", true,
+                "Report the time, CPU time and allocations of each phase of the run, and counts of what each produced. "
+                        + "The report is printed, or written as JSON to the given file");
+        statsOption.setOptionalArg(true);
+        statsOption.setArgName("file");
+        statsOption.setRequired(false);
+        Option watchOption = new Option("watch", false,
+                "Keep running, and regenerate the components whenever the specification or registries change. Implies "
+                        + "-incremental");
+        watchOption.setRequired(false);
+        Option stageOption = new Option("stage", false,
+                "Write the generated files into a staging directory, and only move them into the crates once generation "
+                        + "has succeeded");
+        stageOption.setRequired(false);
+        Option pruneOption = new Option("prune", true,
+                "Comma-separated list of URIs (each including the paths beneath it) and resource schemas served by the "
+                        + "implementation. Only the models reachable from these are generated");
+        pruneOption.setArgName("roots");
+        pruneOption.setRequired(false);
+        Option featuresOption = new Option("features", false,
+                "Gate each schema module of the models behind a cargo feature of the same name, and add the features, "
+                        + "along with the dependencies between them, to the [features] table of the models crate");
+        featuresOption.setRequired(false);
+        Option coalesceOption = new Option("coalesce", false,
+                "Write the models of each schema version inline, in the file of the version's module, instead of one "
+                        + "file per model. The paths of the models are unchanged");
+        coalesceOption.setRequired(false);
+        Option deduplicateOption = new Option("deduplicate", false,
+                "Collapse models that generate identical definitions into re-exports of one of them. The models are "
+                        + "then the same type, so a trait implemented separately for two of them conflicts");
+        deduplicateOption.setRequired(false);
+        Option jfrOption = new Option("jfr", true,
+                "Record the run with Java Flight Recorder, including the generator's own events, to the given file");
+        jfrOption.setArgName("file");
+        jfrOption.setRequired(false);
 
         Options options = new Options();
         options.addOption(specDirectoryOption);
@@ -399,6 +914,17 @@ public class RedfishCodegen {
         options.addOption(registryDirectoryOption);
         options.addOption(componentOption);
         options.addOption(clientModeOption);
+        options.addOption(threadsOption);
+        options.addOption(cacheDirectoryOption);
+        options.addOption(incrementalOption);
+        options.addOption(statsOption);
+        options.addOption(watchOption);
+        options.addOption(stageOption);
+        options.addOption(pruneOption);
+        options.addOption(featuresOption);
+        options.addOption(coalesceOption);
+        options.addOption(deduplicateOption);
+        options.addOption(jfrOption);
 
         CommandLineParser parser = new DefaultParser();
         HelpFormatter formatter = new HelpFormatter();
@@ -406,14 +932,35 @@ public class RedfishCodegen {
         try {
             CommandLine command = parser.parse(options, args);
 
-            String specDirectory = command.getOptionValue("specDirectory");
-            String specVersion = command.getOptionValue("specVersion");
-            String registryDirectory = command.getOptionValue("registryDirectory");
-            String component = command.getOptionValue("component");
-            boolean clientMode = command.hasOption("clientMode");
-
-            RedfishCodegen codegen = new RedfishCodegen(specDirectory, specVersion, registryDirectory, clientMode);
-            codegen.generate(component);
+            Map<String, Path> components = parseComponents(command.getOptionValue("component"));
+            boolean watch = command.hasOption("watch");
+
+            Recording recording = command.hasOption("jfr") ? startRecording(Path.of(command.getOptionValue("jfr"))) : null;
+            try {
+                GenerationStatistics statistics = new GenerationStatistics();
+                RedfishCodegen codegen = new RedfishCodegen(GeneratorOptions.of(command), statistics,
+                        watch ? new SchemaFileStore() : null, new OutputSinkFactory(command.hasOption("stage")));
+                if (watch) {
+                    codegen.watch(components);
+                } else {
+                    codegen.generate(components);
+                }
+
+                if (command.hasOption("stats")) {
+                    String statsFile = command.getOptionValue("stats");
+                    if (null == statsFile) {
+                        System.out.print(statistics.toText());
+                    } else {
+                        Files.writeString(Path.of(statsFile), statistics.toJson().toString(2));
+                    }
+                }
+            } finally {
+                // Stopping the recording writes it to the file, so a failed run is recorded as well.
+                if (null != recording) {
+                    recording.stop();
+                    recording.close();
+                }
+            }
         } catch (ParseException e) {
             System.out.println(e.getMessage());
             formatter.printHelp("RedfishCodegen", options);
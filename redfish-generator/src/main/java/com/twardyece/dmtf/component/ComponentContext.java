@@ -24,7 +24,8 @@ public class ComponentContext implements Comparable<ComponentContext> {
         this.moduleContext = new ModuleContext(rustType.getPath());
         this.rustType = rustType;
         this.baseRegistry = baseRegistry;
-        this.operationMap = new HashMap<>();
+        // Operations are rendered in iteration order, which must be stable between runs.
+        this.operationMap = new EnumMap<>(PathItem.HttpMethod.class);
         this.subcomponents = new ArrayList<>();
         this.owningComponents = new ArrayList<>();
         this.actions = new ArrayList<>();
@@ -0,0 +1,19 @@
+package com.twardyece.dmtf.component;
+
+import jdk.jfr.*;
+
+@Name("com.twardyece.dmtf.ComponentMatch")
+@Label("Component Match")
+@Category({"Redfish Codegen", "Routing"})
+@Description("One attempt of a component matcher to match a URI")
+@StackTrace(false)
+class ComponentMatchEvent extends Event {
+    @Label("Matcher")
+    String matcher;
+
+    @Label("URI")
+    String uri;
+
+    @Label("Matched")
+    boolean matched;
+}
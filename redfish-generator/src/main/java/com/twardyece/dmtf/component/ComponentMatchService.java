@@ -1,10 +1,11 @@
 package com.twardyece.dmtf.component;
 
+import com.twardyece.dmtf.GenerationStatistics;
 import com.twardyece.dmtf.component.match.IComponentMatcher;
+import com.twardyece.dmtf.specification.ir.PathNode;
 import com.twardyece.dmtf.text.CaseConversion;
 import com.twardyece.dmtf.text.PascalCaseName;
 import com.twardyece.dmtf.text.SnakeCaseName;
-import io.swagger.v3.oas.models.PathItem;
 
 import java.util.*;
 import java.util.regex.Matcher;
@@ -13,14 +14,18 @@ import java.util.regex.Pattern;
 public class ComponentMatchService {
     private static final Pattern PARAMETER_PATTERN = Pattern.compile("/\\{[A-Za-z0-9_]+}");
     private final IComponentMatcher[] componentMatchers;
-    private final PathService pathService;
+    private final GenerationStatistics statistics;
 
-    public ComponentMatchService(IComponentMatcher[] componentMatchers, PathService pathService) {
+    public ComponentMatchService(IComponentMatcher[] componentMatchers) {
+        this(componentMatchers, new GenerationStatistics());
+    }
+
+    public ComponentMatchService(IComponentMatcher[] componentMatchers, GenerationStatistics statistics) {
         this.componentMatchers = componentMatchers;
-        this.pathService = pathService;
+        this.statistics = statistics;
     }
 
-    public Iterator<ComponentContext> getComponents(Map<String, PathItem> paths, ComponentRepository repository) {
+    public Iterator<ComponentContext> getComponents(Map<String, PathNode> paths, ComponentRepository repository) {
         List<String> sorted = paths.keySet().stream().sorted().toList();
 
         // Compose the graph of ApiComponents
@@ -28,8 +33,18 @@ public class ComponentMatchService {
             String path = PathService.removeTrailingSlash(uri);
             Optional<ComponentContext> component = Optional.empty();
             for (IComponentMatcher componentMatcher : componentMatchers) {
+                ComponentMatchEvent event = new ComponentMatchEvent();
+                event.begin();
                 component = componentMatcher.matchUri(repository, uri, paths.get(path));
+                event.end();
+                if (event.shouldCommit()) {
+                    event.matcher = componentMatcher.getClass().getName();
+                    event.uri = uri;
+                    event.matched = component.isPresent();
+                    event.commit();
+                }
                 if (component.isPresent()) {
+                    this.statistics.increment("paths matched by " + componentMatcher.getClass().getSimpleName());
                     break;
                 }
             }
@@ -54,11 +69,12 @@ public class ComponentMatchService {
                     .toList();
 
             List<ComponentContext> subcomponents = repository.getSubcomponents(next);
+            PathTrie<String> parentPaths = PathTrie.of(next.paths);
             Map<String, ComponentContext> subcomponentMap = new HashMap<>();
             for (ComponentContext component : subcomponents) {
                 for (String path : component.paths) {
                     try {
-                        String parentPath = this.pathService.getClosestParent(next.paths, path);
+                        String parentPath = parentPaths.getClosestParent(path);
                         String mountpoint = path.substring(parentPath.length());
                         boolean isDirectDescendant = 1 == (mountpoint.length() - mountpoint.replace("/", "").length());
                         if (!isDirectDescendant) {
@@ -14,20 +14,18 @@ import java.util.Map;
 
 public class ComponentRepository {
     private final ComponentTypeTranslationService componentTypeTranslationService;
-    private final PathService pathService;
     private final RustType baseRegistry;
     private final Graph<ComponentContext, DefaultEdge> graph;
     private ComponentContext root;
     private final Map<String, ComponentContext> componentsByRef;
-    private final Map<String, ComponentContext> componentsByPath;
+    private final PathTrie<ComponentContext> componentsByPath;
 
-    public ComponentRepository(ComponentTypeTranslationService componentTypeTranslationService, PathService pathService, RustType baseRegistry) {
+    public ComponentRepository(ComponentTypeTranslationService componentTypeTranslationService, RustType baseRegistry) {
         this.componentTypeTranslationService = componentTypeTranslationService;
-        this.pathService = pathService;
         this.baseRegistry = baseRegistry;
         this.graph = new DefaultDirectedGraph<>(DefaultEdge.class);
         this.componentsByRef = new HashMap<>();
-        this.componentsByPath = new HashMap<>();
+        this.componentsByPath = new PathTrie<>();
     }
 
     public ComponentContext getOrCreateComponent(String componentRef, String uri) {
@@ -60,8 +58,7 @@ public class ComponentRepository {
     }
 
     public ComponentContext getComponentParentOfPath(String path) {
-        String mountpoint = this.pathService.getClosestParent(this.componentsByPath.keySet(), path);
-        return this.componentsByPath.get(mountpoint);
+        return this.componentsByPath.getClosestParentValue(path);
     }
 
     public Iterator<ComponentContext> iterator() {
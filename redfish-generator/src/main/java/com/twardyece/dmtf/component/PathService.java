@@ -6,6 +6,7 @@ import org.apache.commons.lang3.tuple.Pair;
 import java.util.Collection;
 
 public class PathService {
+    // Compares the path with every candidate. To query the same set of paths repeatedly, index them with PathTrie.
     public String getClosestParent(Collection<String> paths, String path) {
         // Determine the closest parent path, which is the largest substring by component from the set of valid paths.
 
@@ -0,0 +1,99 @@
+package com.twardyece.dmtf.component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * An index of URI paths by their '/'-separated components. Finding the closest parent of a path takes time proportional
+ * to the depth of the path, rather than to the number of paths in the index, as with PathService.getClosestParent.
+ * @param <V> The type of the value associated with each path
+ */
+public class PathTrie<V> {
+    private final Node<V> root = new Node<>();
+
+    private static class Node<V> {
+        private final Map<String, Node<V>> children = new HashMap<>();
+        private String path;
+        private V value;
+    }
+
+    /**
+     * @return An index of the paths, each associated with itself.
+     */
+    public static PathTrie<String> of(Collection<String> paths) {
+        PathTrie<String> trie = new PathTrie<>();
+        for (String path : paths) {
+            trie.put(path, path);
+        }
+        return trie;
+    }
+
+    /**
+     * Associate a path with a value, replacing any previous value.
+     */
+    public void put(String path, V value) {
+        Node<V> node = this.root;
+        for (String component : path.split("/")) {
+            node = node.children.computeIfAbsent(component, (k) -> new Node<>());
+        }
+        node.path = path;
+        node.value = value;
+    }
+
+    /**
+     * @return The value associated with the path, or null if there is none.
+     */
+    public V get(String path) {
+        Node<V> node = this.root;
+        for (String component : path.split("/")) {
+            node = node.children.get(component);
+            if (null == node) {
+                return null;
+            }
+        }
+        return node.value;
+    }
+
+    public boolean containsKey(String path) {
+        return null != this.get(path);
+    }
+
+    /**
+     * Determine the closest parent of a path, which is the longest path in the index that is a proper prefix of the path
+     * by component.
+     * @return The closest parent path, as it was inserted into the index.
+     * @throws PathService.NoCloseParentException if no path in the index is a parent of the path.
+     */
+    public String getClosestParent(String path) {
+        return this.getClosestParentNode(path).path;
+    }
+
+    /**
+     * @return The value associated with the closest parent of the path.
+     * @throws PathService.NoCloseParentException if no path in the index is a parent of the path.
+     */
+    public V getClosestParentValue(String path) {
+        return this.getClosestParentNode(path).value;
+    }
+
+    private Node<V> getClosestParentNode(String path) {
+        String firstPath = PathService.removeTrailingSlash(path);
+        String[] components = firstPath.split("/");
+        Node<V> node = this.root;
+        Node<V> closestParent = null;
+        for (int i = 0; i < components.length - 1; ++i) {
+            node = node.children.get(components[i]);
+            if (null == node) {
+                break;
+            } else if (null != node.value) {
+                closestParent = node;
+            }
+        }
+
+        if (null == closestParent || closestParent.path.equals("")) {
+            throw new PathService.NoCloseParentException(firstPath);
+        }
+        return closestParent;
+    }
+}
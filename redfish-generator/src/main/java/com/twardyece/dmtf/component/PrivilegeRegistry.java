@@ -12,71 +12,81 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
+/**
+ * The privileges required for each operation on each Redfish resource, read from the DMTF privilege registry. The
+ * registry is parsed once, into mappings indexed by the entity they apply to, and by the targets of each subordinate
+ * override. Identical privilege expressions are parsed once, and shared between all the mappings that use them.
+ */
 public class PrivilegeRegistry {
     private final CratePath privilegePath;
-    private final JSONArray mappings;
+    private final Map<String, OperationPrivilegeMapping> privilegesByEntity;
+    private final Map<String, List<Pair<String, OperationPrivilegeMapping>>> overridesByTarget;
+    // Privilege expressions, keyed by the JSON they were parsed from
+    private final Map<String, RustType> parsedPrivileges;
 
     public PrivilegeRegistry(Path privilegeRegistry, CratePath privilegePath) throws IOException {
         JSONObject object = new JSONObject(Files.readString(privilegeRegistry));
-        this.mappings = object.getJSONArray("Mappings");
+        JSONArray mappings = object.getJSONArray("Mappings");
         this.privilegePath = privilegePath;
-    }
+        this.privilegesByEntity = new HashMap<>();
+        this.overridesByTarget = new HashMap<>();
+        this.parsedPrivileges = new HashMap<>();
 
-    public OperationPrivilegeMapping getPrivilegesForComponent(PascalCaseName componentName) {
-        String name = componentName.toString();
-        for (int i = 0; i < this.mappings.length(); ++i) {
-            JSONObject mapping = this.mappings.getJSONObject(i);
-            if (!mapping.getString("Entity").equals(name)) {
-                continue;
+        for (int i = 0; i < mappings.length(); ++i) {
+            JSONObject mapping = mappings.getJSONObject(i);
+            String entity = mapping.getString("Entity");
+            JSONObject defaultMapping = mapping.getJSONObject("OperationMap");
+            // If an entity appears more than once, the first mapping is the one that applies.
+            if (!this.privilegesByEntity.containsKey(entity)) {
+                this.privilegesByEntity.put(entity, this.parseOperationPrivilegeMapping(defaultMapping, new JSONObject()));
             }
 
-            JSONObject operationMap = mapping.getJSONObject("OperationMap");
-            return new OperationPrivilegeMapping(
-                    parseOperationMap(operationMap.getJSONArray("GET")),
-                    parseOperationMap(operationMap.getJSONArray("HEAD")),
-                    parseOperationMap(operationMap.getJSONArray("POST")),
-                    parseOperationMap(operationMap.getJSONArray("PUT")),
-                    parseOperationMap(operationMap.getJSONArray("PATCH")),
-                    parseOperationMap(operationMap.getJSONArray("DELETE"))
-            );
-        }
-        return null;
-    }
-
-    public List<Pair<String, OperationPrivilegeMapping>> getSubordinatePrivilegeOverridesForComponent(PascalCaseName componentName) {
-        List<Pair<String, OperationPrivilegeMapping>> overrides = new ArrayList<>();
-        String name = componentName.toString();
-        for (int i = 0; i < this.mappings.length(); ++i) {
-            JSONObject mapping = this.mappings.getJSONObject(i);
             if (!mapping.has("SubordinateOverrides")) {
                 continue;
             }
-            JSONObject defaultMapping = mapping.getJSONObject("OperationMap");
             JSONArray subordinateOverrides = mapping.getJSONArray("SubordinateOverrides");
             for (int j = 0; j < subordinateOverrides.length(); ++j) {
                 JSONObject subordinateOverride = subordinateOverrides.getJSONObject(j);
+                OperationPrivilegeMapping operationPrivilegeMapping = this.parseOperationPrivilegeMapping(
+                        defaultMapping, subordinateOverride.getJSONObject("OperationMap"));
                 JSONArray targets = subordinateOverride.getJSONArray("Targets");
                 for (int k = 0; k < targets.length(); ++k) {
-                    if (targets.getString(k).equals(name)) {
-                        JSONObject overriddenOperationMap = subordinateOverride.getJSONObject("OperationMap");
-                        OperationPrivilegeMapping operationPrivilegeMapping = new OperationPrivilegeMapping(
-                                parseOperationMap(getMappingOrOverride(defaultMapping, overriddenOperationMap, "GET")),
-                                parseOperationMap(getMappingOrOverride(defaultMapping, overriddenOperationMap, "HEAD")),
-                                parseOperationMap(getMappingOrOverride(defaultMapping, overriddenOperationMap, "POST")),
-                                parseOperationMap(getMappingOrOverride(defaultMapping, overriddenOperationMap, "PUT")),
-                                parseOperationMap(getMappingOrOverride(defaultMapping, overriddenOperationMap, "PATCH")),
-                                parseOperationMap(getMappingOrOverride(defaultMapping, overriddenOperationMap, "DELETE"))
-                        );
-
-                        overrides.add(new ImmutablePair<>(mapping.getString("Entity"), operationPrivilegeMapping));
-                    }
+                    this.overridesByTarget.computeIfAbsent(targets.getString(k), (key) -> new ArrayList<>())
+                            .add(new ImmutablePair<>(entity, operationPrivilegeMapping));
                 }
             }
         }
+    }
 
-        return overrides;
+    /**
+     * @return The privileges required for operations on the component, or null if the registry has no mapping for it.
+     */
+    public OperationPrivilegeMapping getPrivilegesForComponent(PascalCaseName componentName) {
+        return this.privilegesByEntity.get(componentName.toString());
+    }
+
+    /**
+     * @return The overrides of the privileges of the component that apply when it is subordinate to another, in the
+     * order they appear in the registry, paired with the name of the entity that owns the component.
+     */
+    public List<Pair<String, OperationPrivilegeMapping>> getSubordinatePrivilegeOverridesForComponent(PascalCaseName componentName) {
+        return Collections.unmodifiableList(this.overridesByTarget.getOrDefault(componentName.toString(), List.of()));
+    }
+
+    private OperationPrivilegeMapping parseOperationPrivilegeMapping(JSONObject mapping, JSONObject overrides) {
+        return new OperationPrivilegeMapping(
+                parseOperationMap(getMappingOrOverride(mapping, overrides, "GET")),
+                parseOperationMap(getMappingOrOverride(mapping, overrides, "HEAD")),
+                parseOperationMap(getMappingOrOverride(mapping, overrides, "POST")),
+                parseOperationMap(getMappingOrOverride(mapping, overrides, "PUT")),
+                parseOperationMap(getMappingOrOverride(mapping, overrides, "PATCH")),
+                parseOperationMap(getMappingOrOverride(mapping, overrides, "DELETE"))
+        );
     }
 
     private JSONArray getMappingOrOverride(JSONObject mapping, JSONObject overrides, String key) {
@@ -88,6 +98,11 @@ public class PrivilegeRegistry {
     }
 
     private RustType parseOperationMap(JSONArray conjunctivePrivileges) {
+        return this.parsedPrivileges.computeIfAbsent(conjunctivePrivileges.toString(),
+                (key) -> this.parsePrivileges(conjunctivePrivileges));
+    }
+
+    private RustType parsePrivileges(JSONArray conjunctivePrivileges) {
         List<List<RustType>> privileges = new ArrayList<>();
         for (int i = 0; i < conjunctivePrivileges.length(); ++i) {
             JSONArray disjunctivePrivileges = conjunctivePrivileges.getJSONObject(i)
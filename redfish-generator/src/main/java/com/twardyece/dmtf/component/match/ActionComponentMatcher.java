@@ -2,9 +2,9 @@ package com.twardyece.dmtf.component.match;
 
 import com.twardyece.dmtf.component.ComponentContext;
 import com.twardyece.dmtf.component.ComponentRepository;
+import com.twardyece.dmtf.specification.ir.PathNode;
 import com.twardyece.dmtf.text.PascalCaseName;
 import com.twardyece.dmtf.text.SnakeCaseName;
-import io.swagger.v3.oas.models.PathItem;
 
 import java.util.Optional;
 import java.util.regex.Matcher;
@@ -15,7 +15,7 @@ public class ActionComponentMatcher implements IComponentMatcher {
     Pattern pattern = Pattern.compile("/Actions/(?<component>[A-Za-z0-9]*).(?<action>[A-Za-z0-9]*)");
 
     @Override
-    public Optional<ComponentContext> matchUri(ComponentRepository repository, String uri, PathItem pathItem) {
+    public Optional<ComponentContext> matchUri(ComponentRepository repository, String uri, PathNode pathNode) {
         Matcher matcher = pattern.matcher(uri);
         if (!matcher.find()) {
             return Optional.empty();
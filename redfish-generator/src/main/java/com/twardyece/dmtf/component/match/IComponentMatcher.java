@@ -2,10 +2,10 @@ package com.twardyece.dmtf.component.match;
 
 import com.twardyece.dmtf.component.ComponentContext;
 import com.twardyece.dmtf.component.ComponentRepository;
-import io.swagger.v3.oas.models.PathItem;
+import com.twardyece.dmtf.specification.ir.PathNode;
 
 import java.util.Optional;
 
 public interface IComponentMatcher {
-    Optional<ComponentContext> matchUri(ComponentRepository repository, String uri, PathItem pathItem);
+    Optional<ComponentContext> matchUri(ComponentRepository repository, String uri, PathNode pathNode);
 }
@@ -5,14 +5,15 @@ import com.twardyece.dmtf.component.ComponentContext;
 import com.twardyece.dmtf.component.ComponentRepository;
 import com.twardyece.dmtf.component.ComponentTypeTranslationService;
 import com.twardyece.dmtf.component.PrivilegeRegistry;
+import com.twardyece.dmtf.specification.ir.OperationNode;
+import com.twardyece.dmtf.specification.ir.PathNode;
+import com.twardyece.dmtf.specification.ir.SchemaNode;
 import com.twardyece.dmtf.text.PascalCaseName;
-import io.swagger.v3.oas.models.Operation;
 import io.swagger.v3.oas.models.PathItem;
-import io.swagger.v3.oas.models.media.MediaType;
-import io.swagger.v3.oas.models.media.Schema;
 import org.apache.commons.lang3.tuple.Pair;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -22,6 +23,8 @@ public class StandardComponentMatcher implements IComponentMatcher {
     private final PrivilegeRegistry privilegeRegistry;
     private final ComponentTypeTranslationService componentTypeTranslationService;
     private final List<Pair<PathItem.HttpMethod, String>> unprotectedOperations;
+    // The privileges of a component are the same for each of its paths, so they are only resolved once per component.
+    private final Map<PascalCaseName, ComponentPrivileges> componentPrivileges;
     private static final ArrayList<PathItem.HttpMethod> METHODS = new ArrayList<>();
 
     static {
@@ -40,39 +43,34 @@ public class StandardComponentMatcher implements IComponentMatcher {
         this.privilegeRegistry = privilegeRegistry;
         this.componentTypeTranslationService = componentTypeTranslationService;
         this.unprotectedOperations = unprotectedOperations;
+        this.componentPrivileges = new HashMap<>();
     }
 
     @Override
-    public Optional<ComponentContext> matchUri(ComponentRepository repository, String uri, PathItem pathItem) {
-        Map<PathItem.HttpMethod, Operation> operations = pathItem.readOperationsMap();
+    public Optional<ComponentContext> matchUri(ComponentRepository repository, String uri, PathNode pathNode) {
+        Map<PathItem.HttpMethod, OperationNode> operations = pathNode.operations();
         if (!operations.containsKey(PathItem.HttpMethod.GET)) {
             return Optional.empty();
         }
 
         // Perhaps a weak policy, but for now we assume that the component is the body type of the 200 response to
         // the GET request.
-        MediaType mediaType = operations
+        SchemaNode schema = operations
                 .get(PathItem.HttpMethod.GET)
-                .getResponses()
+                .responses()
                 .get("200")
-                .getContent()
                 .get("application/json");
-        if (null == mediaType) {
-            return Optional.empty();
-        }
-
-        Schema schema = mediaType.getSchema();
         if (null == schema) {
             return Optional.empty();
         }
 
-        ComponentContext context = repository.getOrCreateComponent(schema.get$ref(), uri);
-        this.updateContext(context, uri, pathItem);
+        ComponentContext context = repository.getOrCreateComponent(schema.getRef(), uri);
+        this.updateContext(context, uri, pathNode);
         return Optional.of(context);
     }
 
-    private void updateContext(ComponentContext context, String uri, PathItem pathItem) {
-        pathItem.readOperationsMap()
+    private void updateContext(ComponentContext context, String uri, PathNode pathNode) {
+        pathNode.operations()
                 .keySet()
                 .stream()
                 .filter(METHODS::contains)
@@ -92,20 +90,28 @@ public class StandardComponentMatcher implements IComponentMatcher {
                     );
                 });
 
-        PascalCaseName componentName = new PascalCaseName(context.rustType.getName());
-        context.defaultPrivileges = privilegeRegistry.getPrivilegesForComponent(
-                componentName);
+        ComponentPrivileges privileges = this.componentPrivileges.computeIfAbsent(
+                new PascalCaseName(context.rustType.getName()), this::resolvePrivileges);
+        context.defaultPrivileges = privileges.defaultPrivileges();
+        // Every path of the component resolves to the same overrides, so they only need to be added for the first.
+        if (context.subordinatePrivilegeOverrides.isEmpty()) {
+            context.subordinatePrivilegeOverrides.addAll(privileges.subordinatePrivilegeOverrides());
+        }
+    }
+
+    private ComponentPrivileges resolvePrivileges(PascalCaseName componentName) {
+        List<ComponentContext.SubordinatePrivilegeOverride> subordinatePrivilegeOverrides = new ArrayList<>();
         List<Pair<String, PrivilegeRegistry.OperationPrivilegeMapping>> overrides = privilegeRegistry
                 .getSubordinatePrivilegeOverridesForComponent(componentName);
         for (Pair<String, PrivilegeRegistry.OperationPrivilegeMapping> override : overrides) {
-            Optional<ComponentContext.SubordinatePrivilegeOverride> existing = context.subordinatePrivilegeOverrides
+            Optional<ComponentContext.SubordinatePrivilegeOverride> existing = subordinatePrivilegeOverrides
                     .stream()
                     .filter((o) -> o.owningComponent().getName().toString().equals(override.getLeft()))
                     .findFirst();
             if (existing.isEmpty()) {
                 RustType rustType = this.componentTypeTranslationService
                         .getRustTypeForComponentName(override.getLeft());
-                context.subordinatePrivilegeOverrides.add(
+                subordinatePrivilegeOverrides.add(
                         new ComponentContext.SubordinatePrivilegeOverride(
                                 rustType,
                                 new PascalCaseName(rustType.getName()),
@@ -113,5 +119,11 @@ public class StandardComponentMatcher implements IComponentMatcher {
                 );
             }
         }
+
+        return new ComponentPrivileges(privilegeRegistry.getPrivilegesForComponent(componentName),
+                List.copyOf(subordinatePrivilegeOverrides));
     }
+
+    private record ComponentPrivileges(PrivilegeRegistry.OperationPrivilegeMapping defaultPrivileges,
+                                       List<ComponentContext.SubordinatePrivilegeOverride> subordinatePrivilegeOverrides) {}
 }
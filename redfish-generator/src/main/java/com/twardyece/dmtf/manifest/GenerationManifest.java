@@ -0,0 +1,153 @@
+package com.twardyece.dmtf.manifest;
+
+import com.twardyece.dmtf.output.IOutputSink;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+/**
+ * Records, for each input file of a generator run, the digest of its content and the generated files it contributed
+ * to. The manifest is stored in the root of the generated crate, and read back on the next run to determine which
+ * generated files are affected by a change to the inputs.
+ */
+public class GenerationManifest {
+    public static final String FILE_NAME = ".codegen-manifest.json";
+    private static final int FORMAT_VERSION = 1;
+    private static final Logger LOGGER = LoggerFactory.getLogger(GenerationManifest.class);
+
+    private final String fingerprint;
+    private final Map<String, String> inputDigests;
+    // Generated file -> the input files it was generated from
+    private final Map<String, Set<String>> outputs;
+
+    public GenerationManifest(String fingerprint, Map<String, String> inputDigests) {
+        this.fingerprint = fingerprint;
+        this.inputDigests = inputDigests;
+        this.outputs = new TreeMap<>();
+    }
+
+    public String getFingerprint() { return this.fingerprint; }
+
+    public String getDigest(String input) { return this.inputDigests.get(input); }
+
+    /**
+     * @param output A generated file, relative to the crate root
+     * @return The inputs the file was generated from, or null if the file is not recorded in this manifest.
+     */
+    public Set<String> getInputs(String output) { return this.outputs.get(output); }
+
+    public synchronized void addOutput(String output, Set<String> inputs) {
+        this.outputs.put(output, new TreeSet<>(inputs));
+    }
+
+    /**
+     * Read the manifest of a previous run.
+     * @param sink The sink of the generated crate
+     * @return The manifest, or Optional.empty() if there is no usable manifest in the crate.
+     */
+    public static Optional<GenerationManifest> load(IOutputSink sink) {
+        try {
+            Optional<byte[]> content = sink.read(Path.of(FILE_NAME));
+            if (content.isEmpty()) {
+                return Optional.empty();
+            }
+
+            JSONObject object = new JSONObject(new String(content.get(), StandardCharsets.UTF_8));
+            if (FORMAT_VERSION != object.getInt("version")) {
+                return Optional.empty();
+            }
+
+            Map<String, String> inputDigests = new HashMap<>();
+            Map<String, Set<String>> outputs = new HashMap<>();
+            JSONObject inputs = object.getJSONObject("inputs");
+            for (String input : inputs.keySet()) {
+                JSONObject entry = inputs.getJSONObject(input);
+                inputDigests.put(input, entry.getString("digest"));
+                JSONArray contributions = entry.getJSONArray("outputs");
+                for (int i = 0; i < contributions.length(); ++i) {
+                    outputs.computeIfAbsent(contributions.getString(i), (k) -> new TreeSet<>()).add(input);
+                }
+            }
+
+            GenerationManifest manifest = new GenerationManifest(object.getString("fingerprint"), inputDigests);
+            manifest.outputs.putAll(outputs);
+            return Optional.of(manifest);
+        } catch (IOException | JSONException e) {
+            LOGGER.warn("Ignoring unreadable manifest in " + sink + ": " + e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Write this manifest into the root of the generated crate. A run that is interrupted while a sink is writing
+     * directly into the crate may leave a truncated manifest behind, which the next run ignores as unreadable.
+     */
+    public synchronized void save(IOutputSink sink) throws IOException {
+        Map<String, Set<String>> contributions = new TreeMap<>();
+        this.inputDigests.keySet().forEach((input) -> contributions.put(input, new TreeSet<>()));
+        this.outputs.forEach((output, inputs) -> inputs.forEach((input) -> {
+            if (contributions.containsKey(input)) {
+                contributions.get(input).add(output);
+            }
+        }));
+
+        JSONObject inputs = new JSONObject();
+        contributions.forEach((input, outputs) -> inputs.put(input, new JSONObject()
+                .put("digest", this.inputDigests.get(input))
+                .put("outputs", new JSONArray(outputs))));
+        JSONObject object = new JSONObject()
+                .put("version", FORMAT_VERSION)
+                .put("fingerprint", this.fingerprint)
+                .put("inputs", inputs);
+
+        sink.write(Path.of(FILE_NAME), object.toString(1).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * The name under which an input file is recorded in the manifest, e.g. "openapi/Resource.yaml".
+     * @param directory The input directory containing the file
+     * @param file The input file
+     */
+    public static String inputName(Path directory, Path file) {
+        Path name = directory.toAbsolutePath().normalize().getFileName();
+        String relative = directory.relativize(file).toString().replace('\\', '/');
+        return null != name ? name + "/" + relative : relative;
+    }
+
+    /**
+     * Compute a hex-encoded SHA-256 digest of the content of a file.
+     */
+    public static String digest(Path file) throws IOException {
+        return HexFormat.of().formatHex(newDigest().digest(Files.readAllBytes(file)));
+    }
+
+    /**
+     * Compute a hex-encoded SHA-256 digest of a list of values.
+     */
+    public static String digest(List<String> values) {
+        MessageDigest digest = newDigest();
+        for (String value : values) {
+            digest.update(value.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.twardyece.dmtf.manifest;
+
+import com.twardyece.dmtf.ModuleFile;
+import com.twardyece.dmtf.output.IOutputSink;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.CodeSource;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Decides which generated files of a crate must be regenerated, by comparing the inputs they were generated from
+ * against the manifest of the previous run. A file is regenerated if any input it depends on, either in the previous
+ * run or in this one, was added, removed or modified. If the previous manifest was produced by a different generator,
+ * or with different options, every file is regenerated.
+ */
+public class IncrementalBuild {
+    private final IOutputSink sink;
+    private final GenerationManifest previous;
+    private final GenerationManifest current;
+    private final AtomicInteger upToDate = new AtomicInteger();
+    private static final Logger LOGGER = LoggerFactory.getLogger(IncrementalBuild.class);
+
+    private IncrementalBuild(IOutputSink sink, GenerationManifest previous, GenerationManifest current) {
+        this.sink = sink;
+        this.previous = previous;
+        this.current = current;
+    }
+
+    /**
+     * @param sink The sink of the generated crate
+     * @param fingerprint A digest of the generator and every option that affects the generated files
+     * @param inputDigests The digests of all input files for this run, by manifest name
+     */
+    public static IncrementalBuild open(IOutputSink sink, String fingerprint, Map<String, String> inputDigests) {
+        GenerationManifest previous = GenerationManifest.load(sink)
+                .filter((manifest) -> manifest.getFingerprint().equals(fingerprint))
+                .orElse(null);
+        if (null == previous) {
+            LOGGER.info("No usable manifest in " + sink + ", regenerating all files");
+        }
+        return new IncrementalBuild(sink, previous, new GenerationManifest(fingerprint, inputDigests));
+    }
+
+    /**
+     * An IncrementalBuild that regenerates every file, and does not record a manifest.
+     */
+    public static IncrementalBuild disabled(IOutputSink sink) {
+        return new IncrementalBuild(sink, null, null);
+    }
+
+    /**
+     * Record the inputs a generated file depends on, and determine whether it must be regenerated.
+     * @param file The generated file
+     * @param dependencies Supplies the names of the inputs the file is generated from. Only invoked if this build
+     *                     records a manifest.
+     * @return true if the file must be regenerated
+     */
+    public boolean requiresGeneration(ModuleFile<?> file, Supplier<Set<String>> dependencies) {
+        if (null == this.current) {
+            return true;
+        }
+
+        Path outputFile = file.getPath().toPath();
+        String output = outputFile.toString();
+        Set<String> inputs = dependencies.get();
+        this.current.addOutput(output, inputs);
+        if (null == this.previous || !this.sink.exists(outputFile)) {
+            return true;
+        }
+
+        Set<String> previousInputs = this.previous.getInputs(output);
+        if (null == previousInputs) {
+            return true;
+        }
+
+        boolean changed = Stream.concat(previousInputs.stream(), inputs.stream())
+                .anyMatch((input) -> !Objects.equals(this.previous.getDigest(input), this.current.getDigest(input)));
+        if (!changed) {
+            this.upToDate.incrementAndGet();
+        }
+        return changed;
+    }
+
+    public int getUpToDate() { return this.upToDate.get(); }
+
+    /**
+     * Write the manifest for this run.
+     */
+    public void save() throws IOException {
+        if (null != this.current) {
+            this.current.save(this.sink);
+        }
+    }
+
+    /**
+     * Compute the digests of every file in the given directories whose name ends with one of the given extensions.
+     * @param directories The input directories
+     * @param extensions The file extensions to include
+     * @return The digest of each file, by manifest name
+     */
+    public static Map<String, String> digestInputs(List<Path> directories, List<String> extensions) throws IOException {
+        Map<String, String> digests = new HashMap<>();
+        for (Path directory : directories) {
+            List<Path> files;
+            try (Stream<Path> listing = Files.list(directory)) {
+                files = listing
+                        .filter(Files::isRegularFile)
+                        .filter((file) -> extensions.stream().anyMatch((e) -> file.getFileName().toString().endsWith(e)))
+                        .toList();
+            }
+            for (Path file : files) {
+                digests.put(GenerationManifest.inputName(directory, file), GenerationManifest.digest(file));
+            }
+        }
+        return digests;
+    }
+
+    /**
+     * Compute a fingerprint of the running generator, combined with the options that affect its output. The generator
+     * is identified by the content of the jar (or class directory) it was loaded from.
+     * @param parameters Options that affect the generated files
+     */
+    public static String fingerprint(List<String> parameters) throws IOException {
+        List<String> values = new ArrayList<>(parameters);
+        CodeSource codeSource = IncrementalBuild.class.getProtectionDomain().getCodeSource();
+        if (null != codeSource) {
+            try {
+                Path location = Path.of(codeSource.getLocation().toURI());
+                List<Path> files;
+                try (Stream<Path> walk = Files.walk(location)) {
+                    files = walk.filter(Files::isRegularFile).sorted().toList();
+                }
+                for (Path file : files) {
+                    values.add(location.relativize(file).toString());
+                    values.add(GenerationManifest.digest(file));
+                }
+            } catch (URISyntaxException e) {
+                throw new RuntimeException(e);
+            }
+        }
+        return GenerationManifest.digest(values);
+    }
+}
@@ -0,0 +1,191 @@
+package com.twardyece.dmtf.manifest;
+
+import com.twardyece.dmtf.model.ModelResolver;
+import com.twardyece.dmtf.specification.ir.DataModel;
+import com.twardyece.dmtf.specification.ir.OperationNode;
+import com.twardyece.dmtf.specification.ir.PathNode;
+import com.twardyece.dmtf.specification.ir.SchemaNode;
+
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * The graph of $ref edges between the schemas of the merged OpenAPI document, along with the input file that each
+ * schema was defined in. The merged document no longer records where a schema came from, so schemas are attributed to
+ * input files by name: Redfish schema files define schemas prefixed with the name of the file, e.g.
+ * ComputerSystem.v1_20_0.yaml defines ComputerSystem_v1_20_0_ComputerSystem. Schemas that cannot be attributed this
+ * way are attributed to a default input.
+ * <p>
+ * Some model generation policies propagate changes from a set of root models to every model they refer to. A model
+ * reachable from one of these roots also depends on the schemas along the way, since a change to any of them may
+ * change whether the policy reaches it.
+ */
+public class SchemaDependencyGraph {
+    private final Map<String, Set<String>> references;
+    private final Map<String, Set<String>> referrers;
+    // Schema name prefix -> input file
+    private final Map<String, String> sources;
+    private final String defaultSource;
+    // Schemas reachable from the roots of propagating policies
+    private final Set<String> propagated;
+
+    /**
+     * @param document The data model
+     * @param schemaInputs The manifest names of every schema file that may have contributed to the document
+     * @param defaultSource The input that schemas are attributed to when no schema file matches their name
+     * @param propagationRoots Matches the schemas from which model generation policies propagate to referenced models
+     */
+    public SchemaDependencyGraph(DataModel document, Collection<String> schemaInputs, String defaultSource,
+                                 Pattern propagationRoots) {
+        this.references = new HashMap<>();
+        this.referrers = new HashMap<>();
+        for (Map.Entry<String, SchemaNode> schema : document.getSchemas().entrySet()) {
+            Set<String> references = new HashSet<>();
+            collectReferences(schema.getValue(), references);
+            this.references.put(schema.getKey(), references);
+            for (String reference : references) {
+                this.referrers.computeIfAbsent(reference, (k) -> new HashSet<>()).add(schema.getKey());
+            }
+        }
+
+        this.sources = new HashMap<>();
+        for (String input : schemaInputs) {
+            String fileName = input.substring(input.lastIndexOf('/') + 1);
+            if (fileName.endsWith(".yaml")) {
+                String stem = fileName.substring(0, fileName.length() - ".yaml".length());
+                this.sources.put(stem.replace('.', '_'), input);
+            }
+        }
+        this.defaultSource = defaultSource;
+        this.propagated = closure(this.references.keySet().stream()
+                .filter((schema) -> propagationRoots.matcher(schema).find())
+                .toList(), this.references);
+    }
+
+    /**
+     * The inputs that can affect the model generated for a schema. This includes the sources of every schema the model
+     * refers to, since model generation policies act on the referenced models, and, if the model is reachable from the
+     * root of a propagating policy, the sources of the schemas on the paths from those roots.
+     * @param schema The name of the schema
+     * @return The names of the inputs
+     */
+    public Set<String> getModelInputs(String schema) {
+        Set<String> schemas = closure(List.of(schema), this.references);
+        if (this.propagated.contains(schema)) {
+            closure(List.of(schema), this.referrers).stream()
+                    .filter(this.propagated::contains)
+                    .forEach(schemas::add);
+        }
+        return this.getSources(schemas);
+    }
+
+    /**
+     * The inputs that can affect a set of paths: the sources of every schema referred to by the operations on these
+     * paths, along with the schemas they refer to.
+     * @param pathNodes The paths
+     * @return The names of the inputs
+     */
+    public Set<String> getPathInputs(Collection<PathNode> pathNodes) {
+        return this.getSources(closure(getPathReferences(pathNodes), this.references));
+    }
+
+    /**
+     * @param pathNodes The paths
+     * @return The names of the schemas referred to directly by the operations on these paths.
+     */
+    public static Set<String> getPathReferences(Collection<PathNode> pathNodes) {
+        Set<String> references = new HashSet<>();
+        for (PathNode pathNode : pathNodes) {
+            collectReferences(pathNode, references);
+        }
+        return references;
+    }
+
+    private Set<String> getSources(Set<String> schemas) {
+        Set<String> inputs = new HashSet<>();
+        for (String schema : schemas) {
+            inputs.add(this.getSource(schema));
+        }
+        return inputs;
+    }
+
+    /**
+     * @param schema The name of a schema
+     * @return The input whose name is the longest prefix of the schema name.
+     */
+    public String getSource(String schema) {
+        for (int i = schema.length() - 1; i > 0; --i) {
+            if ('_' == schema.charAt(i)) {
+                String source = this.sources.get(schema.substring(0, i));
+                if (null != source) {
+                    return source;
+                }
+            }
+        }
+
+        return this.defaultSource;
+    }
+
+    public String getDefaultSource() { return this.defaultSource; }
+
+    private static Set<String> closure(Collection<String> roots, Map<String, Set<String>> edges) {
+        Set<String> visited = new HashSet<>(roots);
+        Deque<String> pending = new ArrayDeque<>(roots);
+        while (!pending.isEmpty()) {
+            for (String next : edges.getOrDefault(pending.pop(), Set.of())) {
+                if (visited.add(next)) {
+                    pending.push(next);
+                }
+            }
+        }
+        return visited;
+    }
+
+    private static void collectReferences(PathNode pathNode, Set<String> references) {
+        if (null == pathNode) {
+            return;
+        }
+
+        for (OperationNode operation : pathNode.operations().values()) {
+            for (SchemaNode parameter : operation.parameterSchemas()) {
+                collectReferences(parameter, references);
+            }
+            collectReferences(operation.requestBody(), references);
+            for (Map<String, SchemaNode> response : operation.responses().values()) {
+                collectReferences(response, references);
+            }
+        }
+    }
+
+    private static void collectReferences(Map<String, SchemaNode> content, Set<String> references) {
+        for (SchemaNode schema : content.values()) {
+            collectReferences(schema, references);
+        }
+    }
+
+    private static void collectReferences(SchemaNode schema, Set<String> references) {
+        if (null == schema) {
+            return;
+        }
+
+        String ref = schema.getRef();
+        if (null != ref && ref.startsWith("#/components/schemas/")) {
+            references.add(ModelResolver.getSchemaIdentifier(ref));
+        }
+        if (null != schema.getProperties()) {
+            for (SchemaNode property : schema.getProperties().values()) {
+                collectReferences(property, references);
+            }
+        }
+        collectReferences(schema.getItems(), references);
+        collectReferences(schema.getAdditionalProperties(), references);
+        collectReferences(schema.getNot(), references);
+        for (List<SchemaNode> composition : Arrays.asList(schema.getAllOf(), schema.getAnyOf(), schema.getOneOf())) {
+            if (null != composition) {
+                for (SchemaNode member : composition) {
+                    collectReferences(member, references);
+                }
+            }
+        }
+    }
+}
@@ -1,29 +1,29 @@
 package com.twardyece.dmtf.model;
 
 import com.twardyece.dmtf.rust.RustType;
-import io.swagger.v3.oas.models.media.Schema;
+import com.twardyece.dmtf.specification.ir.SchemaNode;
 
 import java.util.Optional;
 
 public class InlineSchemaResolver {
-    private static boolean isNullEnum(Schema schema) {
+    private static boolean isNullEnum(SchemaNode schema) {
         final boolean typeIsString = schema.getType() != null && schema.getType().equals("string");
         final boolean isSingletonEnumOfNull = schema.getEnum() != null && schema.getEnum().size() == 1
                 && (schema.getEnum().get(0) == null || schema.getEnum().get(0).equals("null"));
         return typeIsString && isSingletonEnumOfNull;
     }
 
-    private static Optional<String> getInlineOptionalSchemaRef(Schema schema) {
+    private static Optional<String> getInlineOptionalSchemaRef(SchemaNode schema) {
         if (schema.getOneOf() == null || schema.getOneOf().size() != 2) {
             return Optional.empty();
         }
-        Schema first = (Schema) schema.getOneOf().get(0);
-        Schema second = (Schema) schema.getOneOf().get(1);
+        SchemaNode first = schema.getOneOf().get(0);
+        SchemaNode second = schema.getOneOf().get(1);
 
         if (isNullEnum(first)) {
-            return Optional.of(second.get$ref());
+            return Optional.of(second.getRef());
         } else if (isNullEnum(second)) {
-            return Optional.of(first.get$ref());
+            return Optional.of(first.getRef());
         } else {
             return Optional.empty();
         }
@@ -37,7 +37,7 @@ public class InlineSchemaResolver {
      * @param schema the (possibly) inline "string" schema
      * @return Optional.of(the corresponding RustType) if schema is an inline "string" schema, Optional.empty() otherwise.
      */
-    public static Optional<RustType> resolveInlineOptionalSchema(Schema schema, ModelResolver modelResolver) {
+    public static Optional<RustType> resolveInlineOptionalSchema(SchemaNode schema, ModelResolver modelResolver) {
         return getInlineOptionalSchemaRef(schema).map(ModelResolver::getSchemaIdentifier).map(modelResolver::resolvePath);
     }
 }
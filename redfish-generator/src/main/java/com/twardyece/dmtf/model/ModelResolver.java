@@ -7,11 +7,13 @@ import com.twardyece.dmtf.rust.RustType;
 import com.twardyece.dmtf.model.mapper.IModelTypeMapper;
 import com.twardyece.dmtf.text.PascalCaseName;
 import com.twardyece.dmtf.text.SnakeCaseName;
-import io.swagger.v3.oas.models.media.Schema;
+import com.twardyece.dmtf.specification.ir.SchemaNode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -24,7 +26,13 @@ public class ModelResolver {
     public static final Map<String, RustType> RUST_TYPE_MAP;
     private static final Pattern schemaPath = Pattern.compile("#/components/schemas/");
 
-    private HashMap<String, IModelTypeMapper.ModelMatchSpecification> models;
+    // Match specification -> the identifier (after namespace mapping) it was first resolved from, for reverse
+    // resolution. Guarded by its own lock, since it is written by concurrent calls to resolvePath.
+    private final HashMap<IModelTypeMapper.ModelMatchSpecification, String> identifiers;
+    // Identifier -> resolved type, or Optional.empty() if no mapper matches the identifier.
+    private final ConcurrentHashMap<String, Optional<RustType>> resolutions;
+    private final AtomicLong cacheHits;
+    private final AtomicLong cacheMisses;
 
     static {
         RUST_TYPE_MAP = new HashMap<>();
@@ -39,7 +47,10 @@ public class ModelResolver {
         this.mappers = mappers;
         this.namespaceMappers = namespaceMappers;
         this.rustTypeFactory = new RustTypeFactory();
-        this.models = new HashMap<>();
+        this.identifiers = new HashMap<>();
+        this.resolutions = new ConcurrentHashMap<>();
+        this.cacheHits = new AtomicLong();
+        this.cacheMisses = new AtomicLong();
     }
 
     /**
@@ -62,11 +73,24 @@ public class ModelResolver {
 
     /**
      * Use the injected IModelTypeMappers to resolve a Redfish Data Model identifier (in OpenAPI path format, such as
-     * #/components/schemas/Message_v1_1_2_Message) to a Rust type.
+     * #/components/schemas/Message_v1_1_2_Message) to a Rust type. Resolutions are cached, so the mappers are only
+     * consulted the first time an identifier is seen. This method is safe to call concurrently.
      * @param name The OpenAPI path to resolve
      * @return The corresponding Rust type.
      */
     public RustType resolvePath(String name) {
+        Optional<RustType> resolution = this.resolutions.get(name);
+        if (null != resolution) {
+            this.cacheHits.incrementAndGet();
+        } else {
+            this.cacheMisses.incrementAndGet();
+            resolution = this.resolutions.computeIfAbsent(name, this::match);
+        }
+
+        return resolution.orElse(null);
+    }
+
+    private Optional<RustType> match(String name) {
         for (IModelModelMapper namespaceMapper : namespaceMappers) {
             Optional<String> match = namespaceMapper.match(name);
             if (match.isPresent()) {
@@ -77,16 +101,28 @@ public class ModelResolver {
         for (IModelTypeMapper mapper : this.mappers) {
             Optional<IModelTypeMapper.ModelMatchSpecification> module = mapper.matchesType(name);
             if (module.isPresent()) {
-                this.models.put(name, module.get());
-                return rustTypeFactory.toRustType(module.get());
+                IModelTypeMapper.ModelMatchSpecification specification = rustTypeFactory.toModelMatchSpecification(
+                        rustTypeFactory.toRustType(module.get()));
+                synchronized (this.identifiers) {
+                    // If several identifiers resolve to the same type, the first one resolved is canonical.
+                    this.identifiers.putIfAbsent(specification, name);
+                }
+                return Optional.of(new RustType(CratePath.crateLocal(specification.path()), specification.model()));
             }
         }
 
-        return null;
+        return Optional.empty();
     }
 
+    // The number of calls to resolvePath that were answered from the cache.
+    public long getCacheHits() { return this.cacheHits.get(); }
+
+    // The number of calls to resolvePath that consulted the mappers.
+    public long getCacheMisses() { return this.cacheMisses.get(); }
+
     /**
-     * Utilize the injected ModelTypeMappers to perform reverse resolution on a rust type.
+     * Utilize the injected ModelTypeMappers to perform reverse resolution on a rust type. Only types previously returned
+     * from resolvePath can be reverse resolved, using an index maintained by resolvePath.
      * @param rustType The rust type to resolve.
      * @return A string corresponding to the identifier used for this type in the Redfish Data Model.
      */
@@ -94,7 +130,15 @@ public class ModelResolver {
         // TODO: Today, namespace mapping is only necessary for forward resolution. This indicates a bit of potential
         //  fragility in the model resolution system that should be addressed.
         IModelTypeMapper.ModelMatchSpecification modelMatchSpecification = rustTypeFactory.toModelMatchSpecification(rustType);
-        return this.models.entrySet().stream().filter(entry -> entry.getValue().equals(modelMatchSpecification)).findFirst().get().getKey();
+        String identifier;
+        synchronized (this.identifiers) {
+            identifier = this.identifiers.get(modelMatchSpecification);
+        }
+
+        if (null == identifier) {
+            throw new NoSuchElementException("No model resolves to " + rustType);
+        }
+        return identifier;
     }
 
     /**
@@ -104,7 +148,7 @@ public class ModelResolver {
      * @param schema The schema to resolve.
      * @return A Rust type corresponding to the OpenAPI schema object.
      */
-    public RustType resolveSchema(Schema schema) {
+    public RustType resolveSchema(SchemaNode schema) {
         Optional<RustType> rustType = InlineSchemaResolver.resolveInlineOptionalSchema(schema, this);
         if (rustType.isPresent()) {
             return rustType.get();
@@ -112,7 +156,7 @@ public class ModelResolver {
 
         String type = schema.getType();
         if (null == type) {
-            return this.resolvePath(getSchemaIdentifier(schema.get$ref()));
+            return this.resolvePath(getSchemaIdentifier(schema.getRef()));
         } else if ("array".equals(schema.getType())) {
             // It's an array type
             return new RustType(CratePath.empty(), VEC_NAME, new RustType[]{this.resolveSchema(schema.getItems())});
@@ -138,8 +182,9 @@ public class ModelResolver {
          * @return The corresponding RustType
          */
         public RustType toRustType(IModelTypeMapper.ModelMatchSpecification matchResult) {
-            List<SnakeCaseName> path = matchResult.path();
-            path.add(0, RustConfig.MODELS_BASE_MODULE);
+            List<SnakeCaseName> path = new ArrayList<>();
+            path.add(RustConfig.MODELS_BASE_MODULE);
+            path.addAll(matchResult.path());
             return new RustType(CratePath.crateLocal(path), matchResult.model());
         }
 
@@ -0,0 +1,16 @@
+package com.twardyece.dmtf.model.context;
+
+import com.twardyece.dmtf.rust.RustType;
+
+public class AliasContext {
+    public RustType rustType;
+    // The name of the schema whose model is the target of the alias
+    public String model;
+
+    public AliasContext(RustType rustType, String model) {
+        this.rustType = rustType;
+        this.model = model;
+    }
+
+    public String type() { return this.rustType.toString(); }
+}
@@ -6,9 +6,11 @@ import com.twardyece.dmtf.rust.RustType;
 import com.twardyece.dmtf.rust.ToRustExpression;
 import com.twardyece.dmtf.text.SnakeCaseName;
 
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Function;
 
 public class ModelContext {
     public ModuleContext moduleContext;
@@ -17,6 +19,7 @@ public class ModelContext {
     public EnumContext enumContext;
     public TupleContext tupleContext;
     public boolean unitContext;
+    public AliasContext aliasContext;
     public Set<ToRustExpression.RustExpression> additionalAttributes;
     public String docComment;
     public Metadata metadata;
@@ -58,4 +61,96 @@ public class ModelContext {
     }
 
     public String name() { return this.rustType.getName().toString(); }
+
+    /**
+     * @return The types that the definition of this model refers to: the types of struct properties, enum variants,
+     * tuples and aliases, including the type arguments of generic types, e.g. Option<Vec<T>>.
+     */
+    public List<RustType> referencedTypes() {
+        List<RustType> types = new ArrayList<>();
+        if (null != this.structContext) {
+            for (StructContext.Property property : this.structContext.properties) {
+                collectTypes(property.getRustType(), types);
+            }
+        } else if (null != this.enumContext) {
+            for (EnumContext.Variant variant : this.enumContext.variants) {
+                if (null != variant.type) {
+                    collectTypes(variant.type.rustType, types);
+                }
+            }
+        } else if (null != this.tupleContext) {
+            collectTypes(this.tupleContext.rustType, types);
+        } else if (null != this.aliasContext) {
+            collectTypes(this.aliasContext.rustType, types);
+        }
+        return types;
+    }
+
+    private static void collectTypes(RustType type, List<RustType> types) {
+        types.add(type);
+        for (RustType inner : type.getInnerTypes()) {
+            collectTypes(inner, types);
+        }
+    }
+
+    /**
+     * Replace the definition of this model with a re-export of an identical model under its own name. The alias is the
+     * same type as its target, so it has no attributes or metadata of its own.
+     */
+    public void makeAlias(AliasContext aliasContext) {
+        this.structContext = null;
+        this.enumContext = null;
+        this.tupleContext = null;
+        this.unitContext = false;
+        this.additionalAttributes = new HashSet<>();
+        this.metadata = null;
+        this.aliasContext = aliasContext;
+    }
+
+    /**
+     * A canonical description of the definition generated for this model, leaving out its name and documentation.
+     * Models with the same signature generate the same definition.
+     * @param typeName Names each type that the definition refers to
+     * @param described Whether the json-schema of the model is part of the definition, which it is if it is used
+     * @return The signature, or null if this model is an alias.
+     */
+    public String signature(Function<RustType, String> typeName, boolean described) {
+        if (null != this.aliasContext) {
+            return null;
+        }
+
+        StringBuilder signature = new StringBuilder();
+        if (null != this.structContext) {
+            signature.append("struct{");
+            for (StructContext.Property property : this.structContext.properties) {
+                signature.append(property.name()).append(':').append(typeName.apply(property.getRustType()))
+                        .append(',').append(property.optional)
+                        .append(',').append(property.skipDeserializing)
+                        .append(',').append(property.serdeName)
+                        .append(',').append(property.defaultValue).append(';');
+            }
+            signature.append('}');
+        } else if (null != this.enumContext) {
+            signature.append("enum{").append(this.enumContext.tagged)
+                    .append(',').append(this.enumContext.defaultVariantIndex).append(';');
+            for (EnumContext.Variant variant : this.enumContext.variants) {
+                signature.append(variant.name())
+                        .append(':').append(null != variant.type ? typeName.apply(variant.type.rustType) : null)
+                        .append(',').append(variant.serdeName).append(';');
+            }
+            signature.append('}');
+        } else if (null != this.tupleContext) {
+            signature.append("tuple(").append(typeName.apply(this.tupleContext.rustType)).append(')');
+        } else if (this.unitContext) {
+            signature.append("unit");
+        }
+
+        // Attributes are emitted in no particular order, so they are sorted.
+        this.additionalAttributes.stream().map(ToRustExpression.RustExpression::expression).sorted()
+                .forEach((attribute) -> signature.append('#').append(attribute));
+        if (described && null != this.metadata) {
+            signature.append("@").append(this.metadata.jsonSchema());
+        }
+        return signature.toString();
+    }
 }
@@ -5,7 +5,7 @@ import com.twardyece.dmtf.rust.RustIdentifier;
 import com.twardyece.dmtf.rust.RustType;
 import com.twardyece.dmtf.model.context.EnumContext;
 import com.twardyece.dmtf.model.context.ModelContext;
-import io.swagger.v3.oas.models.media.Schema;
+import com.twardyece.dmtf.specification.ir.SchemaNode;
 
 import java.util.HashMap;
 import java.util.List;
@@ -16,39 +16,26 @@ public class EnumContextFactory implements IModelContextFactory {
     public EnumContextFactory() {}
 
     @Override
-    public ModelContext makeModelContext(RustType rustType, Schema schema) {
+    public ModelContext makeModelContext(RustType rustType, SchemaNode schema) {
         if (null == schema.getEnum()) {
             return null;
         }
 
         Map<String, String> docComments = new HashMap<>();
-        Map<String, Map<String, String>> extensions = schema.getExtensions();
-        if (extensions.containsKey("x-enumDescriptions")) {
-            for (Map.Entry<String, String> value : extensions.get("x-enumDescriptions").entrySet()) {
-                docComments.put(value.getKey(), value.getValue());
+        docComments.putAll(schema.getEnumDescriptions());
+        docComments.putAll(schema.getEnumLongDescriptions());
+        for (Map.Entry<String, String> value : schema.getEnumVersionAdded().entrySet()) {
+            String added = "Added in version " + value.getValue() + ".";
+            String existing = docComments.getOrDefault(value.getKey(), null);
+            if (null != existing) {
+                docComments.put(value.getKey(), existing + " " + added);
+            } else {
+                docComments.put(value.getKey(), added);
             }
         }
 
-        if (extensions.containsKey("x-enumLongDescriptions")) {
-            for (Map.Entry<String, String> value : extensions.get("x-enumLongDescriptions").entrySet()) {
-                docComments.put(value.getKey(), value.getValue());
-            }
-        }
-
-        if (extensions.containsKey("x-enumVersionAdded")) {
-            for (Map.Entry<String, String> value : extensions.get("x-enumVersionAdded").entrySet()) {
-                String added = "Added in version " + value.getValue() + ".";
-                String existing = docComments.getOrDefault(value.getKey(), null);
-                if (null != existing) {
-                    docComments.put(value.getKey(), existing + " " + added);
-                } else {
-                    docComments.put(value.getKey(), added);
-                }
-            }
-        }
-
-        List<EnumContext.Variant> variants = (List<EnumContext.Variant>) schema.getEnum().stream()
-                .map((s) -> makeVariant((String) s, docComments.getOrDefault(s, null)))
+        List<EnumContext.Variant> variants = schema.getEnum().stream()
+                .map((s) -> makeVariant(s, docComments.getOrDefault(s, null)))
                 .collect(Collectors.toList());
         return ModelContext.forEnum(rustType, new EnumContext(variants, 0, true), schema.getDescription());
     }
@@ -5,7 +5,7 @@ import com.twardyece.dmtf.rust.RustType;
 import com.twardyece.dmtf.model.context.ModelContext;
 import com.twardyece.dmtf.model.context.TupleContext;
 import com.twardyece.dmtf.text.PascalCaseName;
-import io.swagger.v3.oas.models.media.Schema;
+import com.twardyece.dmtf.specification.ir.SchemaNode;
 
 public class FreeFormObjectContextFactory implements IModelContextFactory {
     private static final RustType jsonValue = new RustType(CratePath.parse("serde_json"), new PascalCaseName("Value"));
@@ -13,7 +13,7 @@ public class FreeFormObjectContextFactory implements IModelContextFactory {
     public FreeFormObjectContextFactory() {}
 
     @Override
-    public ModelContext makeModelContext(RustType rustType, Schema schema) {
+    public ModelContext makeModelContext(RustType rustType, SchemaNode schema) {
         String type = schema.getType();
         if (null == type || !"object".equals(type) || null == schema.getProperties() || !schema.getProperties().isEmpty()) {
             return null;
@@ -2,8 +2,8 @@ package com.twardyece.dmtf.model.context.factory;
 
 import com.twardyece.dmtf.rust.RustType;
 import com.twardyece.dmtf.model.context.ModelContext;
-import io.swagger.v3.oas.models.media.Schema;
+import com.twardyece.dmtf.specification.ir.SchemaNode;
 
 public interface IModelContextFactory {
-    ModelContext makeModelContext(RustType type, Schema schema);
+    ModelContext makeModelContext(RustType type, SchemaNode schema);
 }
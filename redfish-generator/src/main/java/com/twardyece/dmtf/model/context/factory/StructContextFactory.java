@@ -6,7 +6,7 @@ import com.twardyece.dmtf.model.context.ModelContext;
 import com.twardyece.dmtf.model.ModelResolver;
 import com.twardyece.dmtf.model.context.StructContext;
 import com.twardyece.dmtf.text.SnakeCaseName;
-import io.swagger.v3.oas.models.media.Schema;
+import com.twardyece.dmtf.specification.ir.SchemaNode;
 
 import java.util.*;
 import java.util.stream.Collectors;
@@ -18,14 +18,14 @@ public class StructContextFactory implements IModelContextFactory {
     }
 
     @Override
-    public ModelContext makeModelContext(RustType rustType, Schema schema) {
-        Map<String, Schema> schemaProperties = schema.getProperties();
+    public ModelContext makeModelContext(RustType rustType, SchemaNode schema) {
+        Map<String, SchemaNode> schemaProperties = schema.getProperties();
         if (null == schemaProperties) {
             return null;
         }
 
-        List<StructContext.Property> properties = (List<StructContext.Property>) schema.getProperties().entrySet().stream()
-                .map((s) -> this.toProperty((Map.Entry<String, Schema>) s, schema))
+        List<StructContext.Property> properties = schemaProperties.entrySet().stream()
+                .map((s) -> this.toProperty(s, schema))
                 .collect(Collectors.toList());
 
         StructContext struct = new StructContext(properties);
@@ -33,7 +33,7 @@ public class StructContextFactory implements IModelContextFactory {
         return ModelContext.forStruct(rustType, struct, docComment);
     }
 
-    private StructContext.Property toProperty(Map.Entry<String, Schema> property, Schema model) {
+    private StructContext.Property toProperty(Map.Entry<String, SchemaNode> property, SchemaNode model) {
         SnakeCaseName sanitizedName = RustConfig.sanitizePropertyName(property.getKey());
         String serdeName = null;
         if (!sanitizedName.toString().equals(property.getKey())) {
@@ -47,6 +47,6 @@ public class StructContextFactory implements IModelContextFactory {
         }
 
         String docComment = property.getValue().getDescription();
-        return new StructContext.Property(sanitizedName, dataType, property.getValue().get$ref(), optional, serdeName, docComment);
+        return new StructContext.Property(sanitizedName, dataType, property.getValue().getRef(), optional, serdeName, docComment);
     }
 }
@@ -4,7 +4,7 @@ import com.twardyece.dmtf.rust.RustType;
 import com.twardyece.dmtf.model.ModelResolver;
 import com.twardyece.dmtf.model.context.ModelContext;
 import com.twardyece.dmtf.model.context.TupleContext;
-import io.swagger.v3.oas.models.media.Schema;
+import com.twardyece.dmtf.specification.ir.SchemaNode;
 
 public class TupleContextFactory implements IModelContextFactory {
     private ModelResolver modelResolver;
@@ -12,7 +12,7 @@ public class TupleContextFactory implements IModelContextFactory {
     public TupleContextFactory(ModelResolver modelResolver) { this.modelResolver = modelResolver; }
 
     @Override
-    public ModelContext makeModelContext(RustType type, Schema schema) {
+    public ModelContext makeModelContext(RustType type, SchemaNode schema) {
         String typeName = schema.getType();
         if (null == typeName) {
             return null;
@@ -5,7 +5,7 @@ import com.twardyece.dmtf.rust.RustType;
 import com.twardyece.dmtf.model.ModelResolver;
 import com.twardyece.dmtf.model.context.EnumContext;
 import com.twardyece.dmtf.model.context.ModelContext;
-import io.swagger.v3.oas.models.media.Schema;
+import com.twardyece.dmtf.specification.ir.SchemaNode;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -20,7 +20,7 @@ public class UnionContextFactory implements IModelContextFactory {
     }
 
     @Override
-    public ModelContext makeModelContext(RustType type, Schema schema) {
+    public ModelContext makeModelContext(RustType type, SchemaNode schema) {
         if (null == schema.getAnyOf()) {
             return null;
         }
@@ -29,12 +29,11 @@ public class UnionContextFactory implements IModelContextFactory {
         return ModelContext.forEnum(type, new EnumContext(variants, 0, false), schema.getDescription());
     }
 
-    private List<EnumContext.Variant> makeVariants(Schema schema) {
+    private List<EnumContext.Variant> makeVariants(SchemaNode schema) {
         List<EnumContext.Variant> variants = new ArrayList<>();
 
-        for (Object object : schema.getAnyOf()) {
-            Schema variant = (Schema)object;
-            String identifier = ModelResolver.getSchemaIdentifier(variant.get$ref());
+        for (SchemaNode variant : schema.getAnyOf()) {
+            String identifier = ModelResolver.getSchemaIdentifier(variant.getRef());
             RustIdentifier value = this.variantParser.getVariantName(identifier);
             variants.add(new EnumContext.Variant(value,
                     new EnumContext.Variant.Type(this.modelResolver.resolveSchema(variant)),
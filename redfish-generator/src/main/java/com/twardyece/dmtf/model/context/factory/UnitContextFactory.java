@@ -2,7 +2,7 @@ package com.twardyece.dmtf.model.context.factory;
 
 import com.twardyece.dmtf.rust.RustType;
 import com.twardyece.dmtf.model.context.ModelContext;
-import io.swagger.v3.oas.models.media.Schema;
+import com.twardyece.dmtf.specification.ir.SchemaNode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -10,7 +10,7 @@ public class UnitContextFactory implements IModelContextFactory {
     private static final Logger LOGGER = LoggerFactory.getLogger(UnitContextFactory.class);
 
     @Override
-    public ModelContext makeModelContext(RustType type, Schema schema) {
+    public ModelContext makeModelContext(RustType type, SchemaNode schema) {
         LOGGER.info("Creating unit struct for " + type);
         return ModelContext.forUnit(type, schema.getDescription());
     }
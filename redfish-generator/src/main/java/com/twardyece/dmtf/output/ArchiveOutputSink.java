@@ -0,0 +1,156 @@
+package com.twardyece.dmtf.output;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Writes the generated crate as a single zip or tar archive, for build systems that expect a generator to produce one
+ * output file. Files are rendered in no particular order, so they are held in memory until the run is committed, and
+ * then written sorted by path, with fixed timestamps and permissions, so that the same inputs always produce the same
+ * archive. The archive is written to a temporary file and moved into place, so a failed run leaves no archive behind.
+ */
+public class ArchiveOutputSink extends MemoryOutputSink {
+    private static final int TAR_BLOCK_SIZE = 512;
+    // The earliest time that can be represented in a zip archive
+    private static final LocalDateTime ZIP_EPOCH = LocalDateTime.of(1980, 1, 1, 0, 0);
+    private final Path archive;
+    private final Format format;
+
+    public enum Format {
+        ZIP,
+        TAR;
+
+        /**
+         * @return The format of an archive, from the extension of its name, or null if it is not a known format.
+         */
+        public static Format fromFileName(Path file) {
+            Path name = file.getFileName();
+            if (null == name) {
+                return null;
+            } else if (name.toString().endsWith(".zip")) {
+                return ZIP;
+            } else if (name.toString().endsWith(".tar")) {
+                return TAR;
+            }
+            return null;
+        }
+    }
+
+    public ArchiveOutputSink(Path archive, Format format) {
+        this.archive = archive;
+        this.format = format;
+    }
+
+    @Override
+    public void commit() throws IOException {
+        Path directory = this.archive.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, this.archive.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream output = new BufferedOutputStream(Files.newOutputStream(temporary))) {
+                switch (this.format) {
+                    case ZIP -> this.writeZip(output);
+                    case TAR -> this.writeTar(output);
+                }
+            }
+            Files.move(temporary, this.archive, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return this.archive.toAbsolutePath().toString();
+    }
+
+    private static String entryName(Path path) {
+        return path.toString().replace('\\', '/');
+    }
+
+    private void writeZip(OutputStream output) throws IOException {
+        ZipOutputStream zip = new ZipOutputStream(output, StandardCharsets.UTF_8);
+        for (Map.Entry<Path, byte[]> file : this.getFiles().entrySet()) {
+            ZipEntry entry = new ZipEntry(entryName(file.getKey()));
+            entry.setTimeLocal(ZIP_EPOCH);
+            zip.putNextEntry(entry);
+            zip.write(file.getValue());
+            zip.closeEntry();
+        }
+        zip.finish();
+    }
+
+    // A POSIX ustar archive of regular files, owned by root, with permissions 0644 and a modification time of 0.
+    private void writeTar(OutputStream output) throws IOException {
+        for (Map.Entry<Path, byte[]> file : this.getFiles().entrySet()) {
+            byte[] content = file.getValue();
+            output.write(tarHeader(entryName(file.getKey()), content.length));
+            output.write(content);
+            output.write(new byte[padding(content.length)]);
+        }
+        output.write(new byte[2 * TAR_BLOCK_SIZE]);
+    }
+
+    private static byte[] tarHeader(String name, long size) {
+        byte[] header = new byte[TAR_BLOCK_SIZE];
+        if (length(name) > 100) {
+            // Longer names are split at a slash into a prefix of up to 155 bytes, and a name of up to 100.
+            int split = name.indexOf('/');
+            while (split > 0 && !(length(name.substring(0, split)) <= 155 && length(name.substring(split + 1)) <= 100)) {
+                split = name.indexOf('/', split + 1);
+            }
+            if (split <= 0) {
+                throw new RuntimeException("Path " + name + " is too long for a tar archive");
+            }
+            putString(header, 345, 155, name.substring(0, split));
+            putString(header, 0, 100, name.substring(split + 1));
+        } else {
+            putString(header, 0, 100, name);
+        }
+
+        putString(header, 100, 8, "0000644");
+        putString(header, 108, 8, "0000000");
+        putString(header, 116, 8, "0000000");
+        putString(header, 124, 12, String.format("%011o", size));
+        putString(header, 136, 12, "00000000000");
+        header[156] = '0';
+        putString(header, 257, 6, "ustar");
+        putString(header, 263, 2, "00");
+        putString(header, 265, 32, "root");
+        putString(header, 297, 32, "root");
+
+        // The checksum is computed with its own field filled with spaces.
+        for (int i = 148; i < 156; ++i) {
+            header[i] = ' ';
+        }
+        int checksum = 0;
+        for (byte b : header) {
+            checksum += b & 0xff;
+        }
+        putString(header, 148, 6, String.format("%06o", checksum));
+        header[154] = 0;
+        return header;
+    }
+
+    private static int length(String value) {
+        return value.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    private static void putString(byte[] header, int offset, int length, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        System.arraycopy(bytes, 0, header, offset, Math.min(bytes.length, length));
+    }
+
+    private static int padding(long size) {
+        return (int) ((TAR_BLOCK_SIZE - size % TAR_BLOCK_SIZE) % TAR_BLOCK_SIZE);
+    }
+}
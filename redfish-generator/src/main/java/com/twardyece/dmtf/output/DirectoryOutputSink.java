@@ -0,0 +1,107 @@
+package com.twardyece.dmtf.output;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Writes each file into the crate directory as soon as it is rendered. Files which already contain the rendered
+ * content are left untouched, so that their modification time is preserved. Each directory of the crate is created at
+ * most once per run, rather than once for every file written to it.
+ */
+public class DirectoryOutputSink implements IOutputSink {
+    protected final Path outputDirectory;
+    private final Map<Path, Boolean> directories = new ConcurrentHashMap<>();
+
+    public DirectoryOutputSink(Path outputDirectory) {
+        this.outputDirectory = outputDirectory;
+    }
+
+    @Override
+    public boolean exists(Path path) {
+        return Files.isRegularFile(this.outputDirectory.resolve(path));
+    }
+
+    @Override
+    public Optional<byte[]> read(Path path) throws IOException {
+        Path file = this.outputDirectory.resolve(path);
+        return Files.isRegularFile(file) ? Optional.of(Files.readAllBytes(file)) : Optional.empty();
+    }
+
+    @Override
+    public boolean write(Path path, byte[] content) throws IOException {
+        Path file = this.outputDirectory.resolve(path);
+        if (isUnchanged(file, content)) {
+            return false;
+        }
+
+        this.createParentDirectory(file);
+        Files.write(file, content);
+        return true;
+    }
+
+    @Override
+    public boolean delete(Path path) throws IOException {
+        Path file = this.outputDirectory.resolve(path);
+        if (!Files.deleteIfExists(file)) {
+            return false;
+        }
+
+        Path directory = file.getParent();
+        while (null != directory && !directory.equals(this.outputDirectory) && isEmptyDirectory(directory)) {
+            Files.delete(directory);
+            this.directories.remove(directory);
+            directory = directory.getParent();
+        }
+        return true;
+    }
+
+    @Override
+    public void commit() throws IOException {}
+
+    @Override
+    public void close() throws IOException {}
+
+    @Override
+    public String toString() {
+        return this.outputDirectory.toAbsolutePath().toString();
+    }
+
+    protected static boolean isUnchanged(Path file, byte[] content) throws IOException {
+        return Files.isRegularFile(file) && Files.size(file) == content.length
+                && Arrays.equals(Files.readAllBytes(file), content);
+    }
+
+    private static boolean isEmptyDirectory(Path directory) throws IOException {
+        try (Stream<Path> entries = Files.list(directory)) {
+            return entries.findAny().isEmpty();
+        }
+    }
+
+    protected void createParentDirectory(Path file) throws IOException {
+        Path parent = file.getParent();
+        if (null == parent || this.directories.containsKey(parent)) {
+            return;
+        }
+
+        // computeIfAbsent() holds back other writers to the same directory until it has been created.
+        try {
+            this.directories.computeIfAbsent(parent, (directory) -> {
+                try {
+                    Files.createDirectories(directory);
+                    return true;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.twardyece.dmtf.output;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * The destination of the files generated for one crate. Files are written to the sink as they are rendered, possibly
+ * from several threads at once, but a sink may defer making them visible until the run is committed. Closing a sink
+ * that has not been committed discards whatever it has not yet made visible.
+ */
+public interface IOutputSink extends Closeable {
+    /**
+     * @param path The file, relative to the crate root
+     * @return true if the file exists, either from a previous run or from this one.
+     */
+    boolean exists(Path path);
+
+    /**
+     * @param path The file, relative to the crate root
+     * @return The content of the file, or Optional.empty() if it does not exist.
+     */
+    Optional<byte[]> read(Path path) throws IOException;
+
+    /**
+     * Write a file, replacing any previous content.
+     * @param path The file, relative to the crate root
+     * @param content The content of the file
+     * @return true if the file was written, false if it already contained the content.
+     */
+    boolean write(Path path, byte[] content) throws IOException;
+
+    /**
+     * Delete a file that is no longer generated, along with any directory of the crate that it leaves empty.
+     * @param path The file, relative to the crate root
+     * @return true if the file existed.
+     */
+    boolean delete(Path path) throws IOException;
+
+    /**
+     * Make every file written to this sink visible at its destination. Called once, after the last file is written.
+     */
+    void commit() throws IOException;
+}
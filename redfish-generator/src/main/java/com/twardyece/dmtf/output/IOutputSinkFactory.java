@@ -0,0 +1,12 @@
+package com.twardyece.dmtf.output;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+public interface IOutputSinkFactory {
+    /**
+     * @param destination The destination given for a component on the command line
+     * @return A sink writing the files of the component to the destination.
+     */
+    IOutputSink open(Path destination) throws IOException;
+}
@@ -0,0 +1,49 @@
+package com.twardyece.dmtf.output;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.SortedMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Holds the generated files in memory, ordered by path. Useful for inspecting the output of the generator without
+ * touching the file system, e.g. in benchmarks.
+ */
+public class MemoryOutputSink implements IOutputSink {
+    private final SortedMap<Path, byte[]> files = new ConcurrentSkipListMap<>();
+
+    @Override
+    public boolean exists(Path path) {
+        return this.files.containsKey(path);
+    }
+
+    @Override
+    public Optional<byte[]> read(Path path) {
+        return Optional.ofNullable(this.files.get(path));
+    }
+
+    @Override
+    public boolean write(Path path, byte[] content) {
+        byte[] previous = this.files.put(path, content);
+        return !Arrays.equals(previous, content);
+    }
+
+    @Override
+    public boolean delete(Path path) {
+        return null != this.files.remove(path);
+    }
+
+    @Override
+    public void commit() throws IOException {}
+
+    @Override
+    public void close() {}
+
+    /**
+     * @return The files written to this sink, by path relative to the crate root.
+     */
+    public SortedMap<Path, byte[]> getFiles() { return Collections.unmodifiableSortedMap(this.files); }
+}
@@ -0,0 +1,32 @@
+package com.twardyece.dmtf.output;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Opens the sink for a destination given on the command line. A destination whose name ends with ".zip" or ".tar" is
+ * written as an archive, anything else is a crate directory.
+ */
+public class OutputSinkFactory implements IOutputSinkFactory {
+    private final boolean staged;
+
+    /**
+     * @param staged Whether crate directories are updated only once generation has succeeded, using a
+     *               StagedDirectoryOutputSink, or as each file is rendered.
+     */
+    public OutputSinkFactory(boolean staged) {
+        this.staged = staged;
+    }
+
+    @Override
+    public IOutputSink open(Path destination) throws IOException {
+        ArchiveOutputSink.Format format = ArchiveOutputSink.Format.fromFileName(destination);
+        if (null != format) {
+            return new ArchiveOutputSink(destination, format);
+        } else if (this.staged) {
+            return new StagedDirectoryOutputSink(destination);
+        } else {
+            return new DirectoryOutputSink(destination);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.twardyece.dmtf.output;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Writes changed files into a staging directory inside the crate, and moves them into place only once the run is
+ * committed, so that a run which fails part way leaves the crate exactly as it was. Each file is replaced atomically,
+ * and the staging directory is on the same file system as the crate, so the moves are cheap renames. Files that are
+ * not generated, such as Cargo.toml, are never touched. Files that are no longer generated are only deleted once the run
+ * is committed, too.
+ */
+public class StagedDirectoryOutputSink extends DirectoryOutputSink {
+    public static final String STAGING_DIRECTORY = ".codegen-staging";
+    private final Path stagingDirectory;
+    private final Set<Path> staged = ConcurrentHashMap.newKeySet();
+    private final Set<Path> deleted = ConcurrentHashMap.newKeySet();
+    private boolean committed = false;
+
+    public StagedDirectoryOutputSink(Path outputDirectory) throws IOException {
+        super(outputDirectory);
+        this.stagingDirectory = outputDirectory.resolve(STAGING_DIRECTORY);
+        // Left behind by a run that was killed before it could clean up.
+        deleteDirectory(this.stagingDirectory);
+    }
+
+    @Override
+    public boolean exists(Path path) {
+        return this.staged.contains(path) || (!this.deleted.contains(path) && super.exists(path));
+    }
+
+    @Override
+    public Optional<byte[]> read(Path path) throws IOException {
+        if (this.staged.contains(path)) {
+            return Optional.of(Files.readAllBytes(this.stagingDirectory.resolve(path)));
+        } else if (this.deleted.contains(path)) {
+            return Optional.empty();
+        }
+        return super.read(path);
+    }
+
+    @Override
+    public boolean write(Path path, byte[] content) throws IOException {
+        this.deleted.remove(path);
+        if (isUnchanged(this.outputDirectory.resolve(path), content)) {
+            // A copy staged by an earlier write of the same file this run would otherwise replace the live file.
+            if (this.staged.remove(path)) {
+                Files.delete(this.stagingDirectory.resolve(path));
+            }
+            return false;
+        }
+
+        Path file = this.stagingDirectory.resolve(path);
+        this.createParentDirectory(file);
+        Files.write(file, content);
+        this.staged.add(path);
+        return true;
+    }
+
+    @Override
+    public boolean delete(Path path) throws IOException {
+        if (!this.exists(path)) {
+            return false;
+        }
+
+        if (this.staged.remove(path)) {
+            Files.delete(this.stagingDirectory.resolve(path));
+        }
+        this.deleted.add(path);
+        return true;
+    }
+
+    @Override
+    public void commit() throws IOException {
+        for (Path path : this.deleted.stream().sorted().toList()) {
+            super.delete(path);
+        }
+        for (Path path : this.staged.stream().sorted().toList()) {
+            Path file = this.outputDirectory.resolve(path);
+            this.createParentDirectory(file);
+            Files.move(this.stagingDirectory.resolve(path), file, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        }
+        this.committed = true;
+        deleteDirectory(this.stagingDirectory);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!this.committed) {
+            deleteDirectory(this.stagingDirectory);
+        }
+    }
+
+    private static void deleteDirectory(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+
+        List<Path> paths;
+        try (Stream<Path> walk = Files.walk(directory)) {
+            paths = walk.sorted(Comparator.reverseOrder()).toList();
+        }
+        for (Path path : paths) {
+            Files.delete(path);
+        }
+    }
+}
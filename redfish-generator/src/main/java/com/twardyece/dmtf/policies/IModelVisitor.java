@@ -0,0 +1,42 @@
+package com.twardyece.dmtf.policies;
+
+import com.twardyece.dmtf.ModuleFile;
+import com.twardyece.dmtf.model.context.EnumContext;
+import com.twardyece.dmtf.model.context.ModelContext;
+import com.twardyece.dmtf.model.context.StructContext;
+import com.twardyece.dmtf.model.context.TupleContext;
+import com.twardyece.dmtf.specification.SchemaIdentifier;
+
+import java.util.Map;
+
+/**
+ * A policy that is applied to one model at a time. A ModelPolicyPipeline applies consecutive visitors together, in a
+ * single traversal of the models: each model is visited by every visitor in turn, before the next model is visited. So
+ * a visitor may depend on what the visitors before it did to the model it is visiting, but not on what they did to any
+ * other model. A policy that needs to see every model must be an IModelGenerationPolicy, which ends the traversal.
+ */
+public interface IModelVisitor extends IModelGenerationPolicy {
+    /**
+     * Called before the traversal, with the models as they were before any visitor in it was applied, so that the
+     * models may be classified by name once, rather than as each is visited.
+     */
+    default void prepare(Map<String, ModuleFile<ModelContext>> models) {}
+
+    /**
+     * @param identifier The name of the model in the map, which is shared by every visitor in the traversal, so that
+     *                   it is only parsed once.
+     * @return false to remove the model, in which case it is not visited by the visitors after this one.
+     */
+    default boolean visitModel(SchemaIdentifier identifier, ModelContext model) { return true; }
+
+    default void visitStruct(SchemaIdentifier identifier, ModelContext model, StructContext struct) {}
+
+    default void visitEnum(SchemaIdentifier identifier, ModelContext model, EnumContext enumContext) {}
+
+    default void visitTuple(SchemaIdentifier identifier, ModelContext model, TupleContext tuple) {}
+
+    @Override
+    default void apply(Map<String, ModuleFile<ModelContext>> models) {
+        new ModelPolicyPipeline(new IModelGenerationPolicy[] { this }).apply(models);
+    }
+}
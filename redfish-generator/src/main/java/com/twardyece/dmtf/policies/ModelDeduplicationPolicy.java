@@ -0,0 +1,129 @@
+package com.twardyece.dmtf.policies;
+
+import com.twardyece.dmtf.ModuleFile;
+import com.twardyece.dmtf.model.context.AliasContext;
+import com.twardyece.dmtf.model.context.ModelContext;
+import com.twardyece.dmtf.rust.RustConfig;
+import com.twardyece.dmtf.rust.RustType;
+import com.twardyece.dmtf.text.SnakeCaseName;
+
+import java.util.*;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Collapses models that generate identical definitions into one definition, replacing the others with re-exports of it
+ * under their own names. Unlike a type alias, a re-export may still be used to construct a tuple or unit struct, e.g.
+ * resource::Id("..."), and to import the variants of an enum.
+ * <p>
+ * Models are compared by their signature, in which each type they refer to is named by the definition it resolves to,
+ * so models that differ only in referring to other identical models are collapsed as well. This is repeated until no
+ * more models are collapsed. Of each set of identical models, the one whose Rust type sorts first is kept.
+ * <p>
+ * Only models in the same top-level module (i.e. generated from the same schema) are collapsed, so a re-export never
+ * makes one schema's module depend on another that it does not otherwise refer to, e.g. when the modules are gated by
+ * cargo features. The number of identical models left in separate modules is reported by
+ * {@link #getSeparatedDuplicateCount()}.
+ * <p>
+ * The json-schema of a model is only compared if it is used, i.e. if the model is described by its Metadata, so the
+ * re-export of a model that is not may name a different json-schema.
+ * <p>
+ * This must be the last policy applied, since any policy that modifies a model after it may make it differ from the
+ * models it was collapsed with.
+ */
+public class ModelDeduplicationPolicy implements IModelGenerationPolicy {
+    private final Supplier<Set<String>> describedModels;
+    private int separatedDuplicateCount;
+
+    /**
+     * @param describedModels Supplies the names of the models whose json-schema is used
+     */
+    public ModelDeduplicationPolicy(Supplier<Set<String>> describedModels) {
+        this.describedModels = describedModels;
+    }
+
+    @Override
+    public void apply(Map<String, ModuleFile<ModelContext>> models) {
+        Set<RustType> described = new HashSet<>();
+        for (String model : this.describedModels.get()) {
+            ModuleFile<ModelContext> file = models.get(model);
+            if (null != file) {
+                described.add(file.getContext().rustType);
+            }
+        }
+
+        List<ModelContext> candidates = models.values().stream()
+                .map(ModuleFile::getContext)
+                .filter((model) -> null == model.aliasContext)
+                .sorted(Comparator.comparing((ModelContext model) -> model.rustType))
+                .collect(Collectors.toCollection(ArrayList::new));
+        // The kept model of each collapsed model
+        Map<RustType, ModelContext> targets = new HashMap<>();
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            // Each top-level module, mapped to the kept model of each signature in it
+            Map<SnakeCaseName, Map<String, ModelContext>> definitions = new HashMap<>();
+            Iterator<ModelContext> iterator = candidates.iterator();
+            while (iterator.hasNext()) {
+                ModelContext model = iterator.next();
+                ModelContext definition = definitions
+                        .computeIfAbsent(RustConfig.getModelModule(model.rustType), (k) -> new HashMap<>())
+                        .putIfAbsent(model.signature((type) -> typeName(type, targets),
+                                described.contains(model.rustType)), model);
+                if (null != definition) {
+                    targets.put(model.rustType, definition);
+                    iterator.remove();
+                    changed = true;
+                }
+            }
+        }
+
+        // Models that are still identical to one in another module
+        Set<String> signatures = new HashSet<>();
+        this.separatedDuplicateCount = 0;
+        for (ModelContext model : candidates) {
+            if (!signatures.add(model.signature((type) -> typeName(type, targets), described.contains(model.rustType)))) {
+                ++this.separatedDuplicateCount;
+            }
+        }
+
+        Map<RustType, String> schemas = new HashMap<>();
+        models.forEach((schema, model) -> schemas.put(model.getContext().rustType, schema));
+        for (ModuleFile<ModelContext> model : models.values()) {
+            ModelContext context = model.getContext();
+            ModelContext target = resolve(context.rustType, targets);
+            if (null != target) {
+                context.makeAlias(new AliasContext(target.rustType, schemas.get(target.rustType)));
+            }
+        }
+    }
+
+    /**
+     * @return The number of models left identical to a model in another top-level module by the last application.
+     */
+    public int getSeparatedDuplicateCount() { return this.separatedDuplicateCount; }
+
+    // A model kept in an earlier round may itself be collapsed in a later one.
+    private static ModelContext resolve(RustType type, Map<RustType, ModelContext> targets) {
+        ModelContext target = targets.get(type);
+        while (null != target && targets.containsKey(target.rustType)) {
+            target = targets.get(target.rustType);
+        }
+        return target;
+    }
+
+    private static String typeName(RustType type, Map<RustType, ModelContext> targets) {
+        ModelContext target = resolve(type, targets);
+        if (null != target) {
+            type = target.rustType;
+        }
+
+        if (type.getInnerTypes().isEmpty()) {
+            return type.toString();
+        }
+        return type.getPath().joinComponent(type.getName()) + "<" + type.getInnerTypes().stream()
+                .map((inner) -> typeName(inner, targets))
+                .collect(Collectors.joining(",")) + ">";
+    }
+}
@@ -4,16 +4,19 @@ import com.twardyece.dmtf.ModuleFile;
 import com.twardyece.dmtf.model.context.ModelContext;
 import com.twardyece.dmtf.model.context.StructContext;
 import com.twardyece.dmtf.rust.RustType;
+import com.twardyece.dmtf.specification.SchemaIdentifier;
 
-import java.util.List;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.Map;
-import java.util.function.Predicate;
-import java.util.regex.Matcher;
+import java.util.Set;
 import java.util.regex.Pattern;
 
-public class ModelDeletionPolicy implements IModelGenerationPolicy {
+public class ModelDeletionPolicy implements IModelVisitor {
     private final Pattern pattern;
     private final boolean deleteReferencingProperties;
+    private Set<String> markedModels;
+    private Set<RustType> markedTypes;
 
     public ModelDeletionPolicy(Pattern pattern, boolean deleteReferencingProperties) {
         this.pattern = pattern;
@@ -25,31 +28,33 @@ public class ModelDeletionPolicy implements IModelGenerationPolicy {
         this.deleteReferencingProperties = true;
     }
 
+    // The models are marked before any is visited, since a model may refer to a marked model that is visited later.
     @Override
-    public void apply(Map<String, ModuleFile<ModelContext>> models) {
-        Predicate<Map.Entry<String, ModuleFile<ModelContext>>> filter = e -> {
-            Matcher matcher = this.pattern.matcher(e.getKey());
-            return matcher.find();
-        };
-        List<String> markedModels = models.entrySet().stream().filter(filter).map(Map.Entry::getKey).toList();
-        List<RustType> markedTypes = markedModels.stream().map(models::get)
-                .map(m -> m.getContext().rustType).toList();
+    public void prepare(Map<String, ModuleFile<ModelContext>> models) {
+        this.markedModels = new HashSet<>();
+        this.markedTypes = new HashSet<>();
+        models.forEach((name, model) -> {
+            if (this.pattern.matcher(name).find()) {
+                this.markedModels.add(name);
+                this.markedTypes.add(model.getContext().rustType);
+            }
+        });
+    }
+
+    @Override
+    public boolean visitModel(SchemaIdentifier identifier, ModelContext model) {
+        return !this.markedModels.contains(identifier.getName());
+    }
 
+    @Override
+    public void visitStruct(SchemaIdentifier identifier, ModelContext model, StructContext struct) {
         if (this.deleteReferencingProperties) {
-            models.values().forEach(model -> {
-                ModelContext modelContext = model.getContext();
-                if (null != modelContext.structContext) {
-                    List<StructContext.Property> markedProperties = modelContext.structContext.properties.stream()
-                            .filter(property -> propertyTypeMarkedForDeletion(property, markedTypes)).toList();
-                    markedProperties.forEach(property -> modelContext.structContext.properties.remove(property));
-                }
-            });
+            struct.properties.removeIf((property) -> propertyTypeMarkedForDeletion(property, this.markedTypes));
         }
-
-        markedModels.forEach(models::remove);
     }
 
-    public static boolean propertyTypeMarkedForDeletion(StructContext.Property property, List<RustType> markedTypes) {
+    public static boolean propertyTypeMarkedForDeletion(StructContext.Property property,
+                                                        Collection<RustType> markedTypes) {
         if (!property.getRustType().getInnerTypes().isEmpty()) {
             return markedTypes.contains(property.getRustType().getInnerTypes().get(0));
         } else {
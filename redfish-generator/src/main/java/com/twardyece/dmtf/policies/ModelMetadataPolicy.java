@@ -1,13 +1,11 @@
 package com.twardyece.dmtf.policies;
 
-import com.twardyece.dmtf.ModuleFile;
 import com.twardyece.dmtf.model.context.Metadata;
 import com.twardyece.dmtf.model.context.ModelContext;
 import com.twardyece.dmtf.specification.JsonSchemaIdentifier;
+import com.twardyece.dmtf.specification.SchemaIdentifier;
 
-import java.util.Map;
-
-public class ModelMetadataPolicy implements IModelGenerationPolicy {
+public class ModelMetadataPolicy implements IModelVisitor {
     private final JsonSchemaIdentifier jsonSchemaIdentifier;
 
     public ModelMetadataPolicy(JsonSchemaIdentifier jsonSchemaIdentifier) {
@@ -15,8 +13,8 @@ public class ModelMetadataPolicy implements IModelGenerationPolicy {
     }
 
     @Override
-    public void apply(Map<String, ModuleFile<ModelContext>> models) {
-        models.forEach((name, model) -> this.jsonSchemaIdentifier.identify(name)
-                .ifPresent(identifier -> model.getContext().metadata = new Metadata(identifier)));
+    public boolean visitModel(SchemaIdentifier identifier, ModelContext model) {
+        this.jsonSchemaIdentifier.identify(identifier).ifPresent((jsonSchema) -> model.metadata = new Metadata(jsonSchema));
+        return true;
     }
 }
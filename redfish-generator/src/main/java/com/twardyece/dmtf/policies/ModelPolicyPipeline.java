@@ -0,0 +1,112 @@
+package com.twardyece.dmtf.policies;
+
+import com.twardyece.dmtf.ModuleFile;
+import com.twardyece.dmtf.model.context.ModelContext;
+import com.twardyece.dmtf.specification.SchemaIdentifier;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Applies model generation policies in order, in as few traversals of the models as their dependencies allow. Each run
+ * of consecutive visitors is fused into one pass, which visits every model once. A policy that is not a visitor may
+ * depend on every model, so it depends on all the policies before it, and all the policies after it depend on it. It is
+ * applied in a pass of its own.
+ */
+public class ModelPolicyPipeline implements IModelGenerationPolicy {
+    private final IModelGenerationPolicy[] policies;
+    private final List<Pass> passes;
+    // The number of models removed by each policy, in the last application of the pipeline
+    private final int[] removed;
+
+    public ModelPolicyPipeline(IModelGenerationPolicy[] policies) {
+        this.policies = policies;
+        this.removed = new int[policies.length];
+        this.passes = new ArrayList<>();
+        int first = 0;
+        while (first < policies.length) {
+            int last = first + 1;
+            if (policies[first] instanceof IModelVisitor) {
+                while (last < policies.length && policies[last] instanceof IModelVisitor) {
+                    ++last;
+                }
+            }
+            this.passes.add(new Pass(first, last));
+            first = last;
+        }
+    }
+
+    public List<Pass> getPasses() { return this.passes; }
+
+    public IModelGenerationPolicy getPolicy(int index) { return this.policies[index]; }
+
+    public int getPolicyCount() { return this.policies.length; }
+
+    /**
+     * @return The number of models removed by the policy at the index, when the pass containing it was last applied.
+     */
+    public int getRemoved(int index) { return this.removed[index]; }
+
+    @Override
+    public void apply(Map<String, ModuleFile<ModelContext>> models) {
+        for (Pass pass : this.passes) {
+            pass.apply(models);
+        }
+    }
+
+    public class Pass {
+        // The indices of the policies applied by this pass, from first, up to but not including last
+        private final int first;
+        private final int last;
+
+        private Pass(int first, int last) {
+            this.first = first;
+            this.last = last;
+        }
+
+        public void apply(Map<String, ModuleFile<ModelContext>> models) {
+            Arrays.fill(removed, this.first, this.last, 0);
+            if (!(policies[this.first] instanceof IModelVisitor)) {
+                int count = models.size();
+                policies[this.first].apply(models);
+                removed[this.first] = count - models.size();
+                return;
+            }
+
+            IModelVisitor[] visitors = new IModelVisitor[this.last - this.first];
+            for (int i = 0; i < visitors.length; ++i) {
+                visitors[i] = (IModelVisitor) policies[this.first + i];
+                visitors[i].prepare(models);
+            }
+
+            Iterator<Map.Entry<String, ModuleFile<ModelContext>>> iterator = models.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<String, ModuleFile<ModelContext>> entry = iterator.next();
+                SchemaIdentifier identifier = new SchemaIdentifier(entry.getKey());
+                ModelContext model = entry.getValue().getContext();
+                for (int i = 0; i < visitors.length; ++i) {
+                    if (!visitors[i].visitModel(identifier, model)) {
+                        iterator.remove();
+                        ++removed[this.first + i];
+                        break;
+                    }
+
+                    if (null != model.structContext) {
+                        visitors[i].visitStruct(identifier, model, model.structContext);
+                    } else if (null != model.enumContext) {
+                        visitors[i].visitEnum(identifier, model, model.enumContext);
+                    } else if (null != model.tupleContext) {
+                        visitors[i].visitTuple(identifier, model, model.tupleContext);
+                    }
+                }
+            }
+        }
+
+        @Override
+        public String toString() {
+            return Arrays.stream(policies, this.first, this.last)
+                    .map((policy) -> policy.getClass().getSimpleName())
+                    .collect(Collectors.joining(", "));
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.twardyece.dmtf.policies;
+
+import com.twardyece.dmtf.ModuleFile;
+import com.twardyece.dmtf.model.context.ModelContext;
+import com.twardyece.dmtf.rust.RustType;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * Removes every model that is not reachable from a set of root models, following the types of struct properties, enum
+ * variants, tuples and type aliases. Used to generate a crate containing only the models needed by a service that
+ * implements a subset of the Redfish resources.
+ */
+public class ModelReachabilityPolicy implements IModelGenerationPolicy {
+    private final Supplier<Set<String>> roots;
+
+    /**
+     * @param roots Supplies the names of the root models, when the policy is applied. Names of models that do not
+     *              exist are ignored.
+     */
+    public ModelReachabilityPolicy(Supplier<Set<String>> roots) {
+        this.roots = roots;
+    }
+
+    @Override
+    public void apply(Map<String, ModuleFile<ModelContext>> models) {
+        Map<RustType, String> modelsByType = new HashMap<>();
+        models.forEach((name, model) -> modelsByType.put(model.getContext().rustType, name));
+
+        Set<String> reachable = new HashSet<>();
+        Deque<String> pending = new ArrayDeque<>();
+        for (String root : this.roots.get()) {
+            if (models.containsKey(root) && reachable.add(root)) {
+                pending.push(root);
+            }
+        }
+
+        while (!pending.isEmpty()) {
+            for (RustType type : models.get(pending.pop()).getContext().referencedTypes()) {
+                String name = modelsByType.get(type);
+                if (null != name && reachable.add(name)) {
+                    pending.push(name);
+                }
+            }
+        }
+
+        models.keySet().retainAll(reachable);
+    }
+}
@@ -1,5 +1,6 @@
 package com.twardyece.dmtf.rust;
 
+import com.twardyece.dmtf.CratePath;
 import com.twardyece.dmtf.text.*;
 
 import java.util.*;
@@ -34,6 +35,19 @@ public class RustConfig {
         }
     }
 
+    /**
+     * @return The top-level module of a model, i.e. its schema, e.g. account_service for
+     * crate::models::account_service::v1_0_0::AccountService, or null if the type is not a generated model.
+     */
+    public static SnakeCaseName getModelModule(RustType type) {
+        CratePath path = type.getPath();
+        if (!path.isCrateLocal() || 3 > path.getComponents().size()
+                || !MODELS_BASE_MODULE.equals(path.getComponents().get(1))) {
+            return null;
+        }
+        return path.getComponents().get(2);
+    }
+
     public static SnakeCaseName sanitizePropertyName(String name) {
         List<SnakeCaseName> safeName = Arrays.stream(
                         replaceInvalidCharacters(
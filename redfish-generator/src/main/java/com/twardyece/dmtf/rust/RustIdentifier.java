@@ -7,50 +7,52 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 public class RustIdentifier implements Comparable<RustIdentifier> {
-    private String value;
-    private RustType owner;
+    private final String value;
+    private final int hash;
     private static final Pattern numbersOnly = Pattern.compile("^[0-9]+$");
 
     public RustIdentifier(PascalCaseName name) {
-        this.value = name.toString();
-        Matcher matcher = numbersOnly.matcher(this.value);
-        if (matcher.find()) {
-            this.value = "_" + this.value;
-        }
+        this(null, name.toString());
     }
 
     public RustIdentifier(SnakeCaseName name) {
-        this.value = name.toUpperCase();
-        Matcher matcher = numbersOnly.matcher(this.value);
-        if (matcher.find()) {
-            this.value = "_" + this.value;
-        }
+        this(null, name.toUpperCase());
     }
 
     public RustIdentifier(RustType owner, PascalCaseName name) {
-        this(name);
-        this.owner = owner;
+        this(owner, name.toString());
     }
 
-    @Override
-    public String toString() {
-        String value = this.value;
-        if (null != this.owner) {
-            value = this.owner + "::" + value;
+    private RustIdentifier(RustType owner, String identifier) {
+        String value = identifier;
+        Matcher matcher = numbersOnly.matcher(value);
+        if (matcher.find()) {
+            value = "_" + value;
+        }
+        if (null != owner) {
+            value = owner + "::" + value;
         }
 
-        return value;
+        this.value = value;
+        this.hash = this.value.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return this.value;
     }
 
     @Override
     public int compareTo(RustIdentifier o) {
-        return this.toString().compareTo(o.toString());
+        return this.value.compareTo(o.value);
     }
 
     @Override
     public boolean equals(Object o) {
-        if (o instanceof RustIdentifier) {
-            return this.toString().equals(o.toString());
+        if (this == o) {
+            return true;
+        } else if (o instanceof RustIdentifier other) {
+            return this.hash == other.hash && this.value.equals(other.value);
         } else {
             return false;
         }
@@ -58,6 +60,6 @@ public class RustIdentifier implements Comparable<RustIdentifier> {
 
     @Override
     public int hashCode() {
-        return this.toString().hashCode();
+        return this.hash;
     }
 }
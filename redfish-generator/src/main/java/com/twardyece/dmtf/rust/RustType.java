@@ -5,8 +5,6 @@ import com.twardyece.dmtf.text.ICaseConvertible;
 import com.twardyece.dmtf.text.PascalCaseName;
 import com.twardyece.dmtf.text.SnakeCaseName;
 
-import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 
@@ -14,35 +12,40 @@ public class RustType implements Comparable<RustType> {
     // The absolute path of the type (i.e., where its definition lives)
     private final CratePath path;
     // The path of the type, taking into consideration any namespaces which are importing with "use" statements
-    private ICaseConvertible name;
+    private final ICaseConvertible name;
     private final List<RustType> innerTypes;
+    // The path of the type with its type arguments, e.g. Option<crate::models::resource::Id>
+    private final String value;
+    private final int hash;
 
     public RustType(SnakeCaseName name) {
-        this.name = name;
-        this.path = CratePath.empty();
-        this.innerTypes = new ArrayList<>();
+        this(CratePath.empty(), name, List.of());
     }
 
     public RustType(CratePath path, PascalCaseName name) {
-        this.path = Objects.requireNonNull(path);
-        this.name = name;
-        this.innerTypes = new ArrayList<>();
+        this(Objects.requireNonNull(path), name, List.of());
     }
 
     public RustType(CratePath path, PascalCaseName name, RustType[] innerTypes) {
-        this.path = Objects.requireNonNull(path);
-        this.name = name;
-        this.innerTypes = Arrays.stream(innerTypes).toList();
+        this(Objects.requireNonNull(path), name, List.of(innerTypes));
     }
 
-    @Override
-    public String toString() {
+    private RustType(CratePath path, ICaseConvertible name, List<RustType> innerTypes) {
+        this.path = path;
+        this.name = name;
+        this.innerTypes = innerTypes;
+
         String value = this.path.joinComponent(this.name);
         if (!this.innerTypes.isEmpty()) {
                 value += "<" + String.join(",", this.innerTypes.stream().map(RustType::toString).toList()) + ">";
         }
+        this.value = value;
+        this.hash = this.value.hashCode();
+    }
 
-        return value;
+    @Override
+    public String toString() {
+        return this.value;
     }
 
     public CratePath getPath() { return this.path; }
@@ -53,17 +56,18 @@ public class RustType implements Comparable<RustType> {
     public List<RustType> getInnerTypes() { return this.innerTypes; }
 
     public ICaseConvertible getName() { return this.name; }
-    public void setName(ICaseConvertible name) { this.name = name; }
 
     @Override
     public int compareTo(RustType o) {
-        return this.toString().compareTo(o.toString());
+        return this.value.compareTo(o.value);
     }
 
     @Override
     public boolean equals(Object o) {
-        if (o instanceof RustType) {
-            return this.toString().equals(o.toString());
+        if (this == o) {
+            return true;
+        } else if (o instanceof RustType other) {
+            return this.hash == other.hash && this.value.equals(other.value);
         } else {
             return false;
         }
@@ -71,6 +75,6 @@ public class RustType implements Comparable<RustType> {
 
     @Override
     public int hashCode() {
-        return this.toString().hashCode();
+        return this.hash;
     }
 }
@@ -1,7 +1,5 @@
 package com.twardyece.dmtf.specification;
 
-import com.twardyece.dmtf.text.ICaseConvertible;
-
 import java.util.Optional;
 
 public class JsonSchemaIdentifier {
@@ -12,23 +10,21 @@ public class JsonSchemaIdentifier {
     }
 
     public Optional<String> identify(String identifier) {
+        return this.identify(new SchemaIdentifier(identifier));
+    }
+
+    public Optional<String> identify(SchemaIdentifier identifier) {
         for (JsonSchemaMapper schemaMapper : this.schemaMappers) {
-            Optional<String> jsonSchema = schemaMapper.matchJsonSchema(identifier);
+            Optional<String> jsonSchema = schemaMapper.matchJsonSchema(identifier.getName());
             if (jsonSchema.isPresent()) {
                 return jsonSchema;
             }
         }
 
-        try {
-            VersionedSchemaIdentifier versioned = new VersionedSchemaIdentifier(identifier);
-            return Optional.of(versioned.getModule() + "." + versioned.getVersion() + ".json");
-        } catch (IdentifierParseError | ICaseConvertible.CaseConversionError e) {
-            try {
-                UnversionedSchemaIdentifier unversioned = new UnversionedSchemaIdentifier(identifier);
-                return Optional.of(unversioned.getModule() + ".json");
-            } catch (IdentifierParseError | ICaseConvertible.CaseConversionError f) {
-                return Optional.empty();
-            }
+        Optional<VersionedSchemaIdentifier> versioned = identifier.versioned();
+        if (versioned.isPresent()) {
+            return Optional.of(versioned.get().getModule() + "." + versioned.get().getVersion() + ".json");
         }
+        return identifier.unversioned().map((unversioned) -> unversioned.getModule() + ".json");
     }
 }
@@ -1,15 +1,22 @@
 package com.twardyece.dmtf.specification;
 
+import java.util.Optional;
+
 public class ODataTypeIdentifier {
     public ODataTypeIdentifier() {}
 
     public String identify(String identifier) {
-        try {
-            VersionedSchemaIdentifier versioned = new VersionedSchemaIdentifier(identifier);
-            return "#" + versioned.getModule() + "." + versioned.getVersion() + "." + versioned.getModel();
-        } catch (IdentifierParseError e) {
-            UnversionedSchemaIdentifier unversioned = new UnversionedSchemaIdentifier(identifier);
-            return "#" + unversioned.getModule() + "." + unversioned.getModel();
+        return this.identify(new SchemaIdentifier(identifier));
+    }
+
+    public String identify(SchemaIdentifier identifier) {
+        Optional<VersionedSchemaIdentifier> versioned = identifier.versioned();
+        if (versioned.isPresent()) {
+            return "#" + versioned.get().getModule() + "." + versioned.get().getVersion() + "." + versioned.get().getModel();
         }
+
+        UnversionedSchemaIdentifier unversioned = identifier.unversioned()
+                .orElseThrow(() -> new IdentifierParseError(identifier + " is not an unversioned identifier"));
+        return "#" + unversioned.getModule() + "." + unversioned.getModel();
     }
 }
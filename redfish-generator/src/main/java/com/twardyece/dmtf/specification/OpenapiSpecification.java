@@ -1,5 +1,6 @@
 package com.twardyece.dmtf.specification;
 
+import com.twardyece.dmtf.GenerationStatistics;
 import com.twardyece.dmtf.model.mapper.PromotedSchemaModelTypeMapper;
 import com.twardyece.dmtf.specification.file.FileList;
 import io.swagger.v3.oas.models.Components;
@@ -13,8 +14,14 @@ import io.swagger.v3.parser.core.models.SwaggerParseResult;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Stream;
@@ -23,17 +30,56 @@ public class OpenapiSpecification {
     private final Path specDirectory;
     private final List<Pattern> ignoredSchemaFiles;
     private final PromotedSchemaModelTypeMapper promotedSchemaModelTypeMapper;
+    private final int parallelism;
+    private final SpecificationCache cache;
+    private final GenerationStatistics statistics;
+    private final SchemaFileStore store;
     private static final Pattern SCHEMA_VERSION = Pattern.compile("([0-9]+)_([0-9]+)_([0-9]+)");
     private static final Pattern VERSIONED_SCHEMA_FILE = Pattern.compile("(?<name>[A-Z][A-Za-z]*).v(?<version>" + SCHEMA_VERSION + ").yaml");
     private static final Pattern UNVERSIONED_SCHEMA_PATTERN = Pattern.compile("(?<name>.*).yaml$");
     private static final Logger LOGGER = LoggerFactory.getLogger(OpenapiSpecification.class);
 
-    public OpenapiSpecification(Path specDirectory, Pattern[] ignoredSchemaFiles, PromotedSchemaModelTypeMapper promotedSchemaModelTypeMapper) {
+    public OpenapiSpecification(Path specDirectory, Pattern[] ignoredSchemaFiles, PromotedSchemaModelTypeMapper promotedSchemaModelTypeMapper,
+                                Options options) {
         this.specDirectory = specDirectory;
         List<Pattern> ignoredSchemaFilesList = new ArrayList<>(List.of(ignoredSchemaFiles));
         ignoredSchemaFilesList.add(Pattern.compile("^openapi.yaml$"));
         this.ignoredSchemaFiles = ignoredSchemaFilesList;
         this.promotedSchemaModelTypeMapper = promotedSchemaModelTypeMapper;
+        this.parallelism = Math.max(1, options.parallelism());
+        this.cache = options.cache();
+        this.statistics = options.statistics();
+        this.store = options.store();
+    }
+
+    /**
+     * @param parallelism The maximum number of schema files that are parsed concurrently.
+     * @param cache A cache of previously merged documents, or null to always parse the specification.
+     * @param statistics Receives the cost of parsing and promoting schemas, and the number of schemas parsed.
+     * @param store Retains the document parsed from each file between loads, or null to parse every file on each load.
+     */
+    public record Options(int parallelism, SpecificationCache cache, GenerationStatistics statistics,
+                          SchemaFileStore store) {
+        // One file per processor, with no cache or store, and statistics that are discarded
+        public static Options defaults() {
+            return new Options(Runtime.getRuntime().availableProcessors(), null, new GenerationStatistics(), null);
+        }
+
+        public Options withParallelism(int parallelism) {
+            return new Options(parallelism, this.cache, this.statistics, this.store);
+        }
+
+        public Options withCache(SpecificationCache cache) {
+            return new Options(this.parallelism, cache, this.statistics, this.store);
+        }
+
+        public Options withStatistics(GenerationStatistics statistics) {
+            return new Options(this.parallelism, this.cache, statistics, this.store);
+        }
+
+        public Options withStore(SchemaFileStore store) {
+            return new Options(this.parallelism, this.cache, this.statistics, store);
+        }
     }
 
     private static void debugInformDuplicateSchemas(String schema, String file) {
@@ -45,32 +91,79 @@ public class OpenapiSpecification {
     /**
      * The public entrypoint and mechanism to get a representation of the Redfish data model read from the filesystem.
      * First, parse the top-level OpenAPI document. Then, go through the list and parse a number of additional ones and
-     * merge them into a final document.
+     * merge them into a final document. The documents are parsed concurrently, but they are always merged in the order
+     * of the schema file list, so the first definition of a schema still wins. If a cache was provided, and it contains
+     * a document produced from identical inputs, that document is returned instead.
      * @return OpenAPI  the Redfish data model as an OpenAPI document
      */
-    public OpenAPI getRedfishDataModel() {
-        // Read the top-level OpenAPI document first...
+    public OpenAPI getRedfishDataModel() throws IOException {
         Path openapiDirectory = Path.of(this.specDirectory + "/openapi");
-        OpenAPI redfishDataModel = getOpenAPI(openapiDirectory + "/openapi.yaml");
-        Components redfishComponents = redfishDataModel.getComponents();
-
-        // Do the same for the other schema files we need to parse
-        for (String file : getSchemaFiles(openapiDirectory)) {
-            OpenAPI schemaDocument = getOpenAPI(openapiDirectory + "/" + file);
-            if (null == schemaDocument.getComponents().getSchemas()) {
-                continue;
-            }
+        List<String> schemaFiles = getSchemaFiles(openapiDirectory);
+        if (null == this.cache) {
+            return parseRedfishDataModel(openapiDirectory, schemaFiles);
+        }
+
+        // Any document in the directory may be loaded while resolving references, not just those in schemaFiles.
+        List<Path> inputs;
+        try (Stream<Path> listing = Files.list(openapiDirectory)) {
+            inputs = listing.filter((file) -> file.getFileName().toString().endsWith(".yaml")).sorted().toList();
+        }
+        this.statistics.enter("specification cache lookup");
+        String key = this.cache.digest(inputs, this.ignoredSchemaFiles.stream().map(Pattern::pattern).toList());
+        Optional<OpenAPI> cached = this.cache.load(key);
+        if (cached.isPresent()) {
+            LOGGER.info("Loaded specification from cache entry " + key);
+            return cached.get();
+        }
+
+        OpenAPI redfishDataModel = parseRedfishDataModel(openapiDirectory, schemaFiles);
+        this.statistics.enter("specification cache store");
+        this.cache.store(key, redfishDataModel);
+        return redfishDataModel;
+    }
 
-            // Merge the components
-            for (Map.Entry<String, Schema> entry : schemaDocument.getComponents().getSchemas().entrySet()) {
-                debugInformDuplicateSchemas(entry.getKey(), file);
-                if (!redfishComponents.getSchemas().containsKey(entry.getKey())) {
-                    redfishComponents.addSchemas(entry.getKey(), entry.getValue());
+    private OpenAPI parseRedfishDataModel(Path openapiDirectory, List<String> schemaFiles) throws IOException {
+        this.statistics.enter("yaml parsing");
+        Map<String, String> keys = null != this.store ? this.store.keys(openapiDirectory) : Map.of();
+        ExecutorService executor = Executors.newFixedThreadPool(this.parallelism);
+        try {
+            Future<SwaggerParseResult> openapiDocument = executor.submit(
+                    () -> this.statistics.measure(() -> parseOrLoad(openapiDirectory, "openapi.yaml", keys)));
+            List<Future<SwaggerParseResult>> schemaDocuments = schemaFiles
+                    .stream()
+                    .map((file) -> executor.submit(() -> this.statistics.measure(() -> parseOrLoad(openapiDirectory, file, keys))))
+                    .toList();
+
+            // Read the top-level OpenAPI document first...
+            OpenAPI redfishDataModel = getOpenAPI(openapiDirectory + "/openapi.yaml", openapiDocument);
+            Components redfishComponents = redfishDataModel.getComponents();
+
+            // Do the same for the other schema files we need to parse
+            for (int i = 0; i < schemaFiles.size(); ++i) {
+                String file = schemaFiles.get(i);
+                OpenAPI schemaDocument = getOpenAPI(openapiDirectory + "/" + file, schemaDocuments.get(i));
+                if (null == schemaDocument.getComponents().getSchemas()) {
+                    continue;
+                }
+
+                // Merge the components
+                for (Map.Entry<String, Schema> entry : schemaDocument.getComponents().getSchemas().entrySet()) {
+                    debugInformDuplicateSchemas(entry.getKey(), file);
+                    if (!redfishComponents.getSchemas().containsKey(entry.getKey())) {
+                        redfishComponents.addSchemas(entry.getKey(), entry.getValue());
+                    }
                 }
             }
-        }
 
-        return promoteInlineSchemasFromComponents(promoteInlineSchemasFromPaths(redfishDataModel));
+            int parsedSchemas = redfishComponents.getSchemas().size();
+            this.statistics.add("schemas parsed", parsedSchemas);
+            this.statistics.enter("inline-schema promotion");
+            OpenAPI promoted = promoteInlineSchemasFromComponents(promoteInlineSchemasFromPaths(redfishDataModel));
+            this.statistics.add("inline schemas promoted", promoted.getComponents().getSchemas().size() - parsedSchemas);
+            return promoted;
+        } finally {
+            executor.shutdownNow();
+        }
     }
 
     /**
@@ -215,10 +308,67 @@ public class OpenapiSpecification {
         ).toList();
     }
 
-    private static OpenAPI getOpenAPI(String path) {
+    /**
+     * Parse a file, unless the store holds a document parsed from identical inputs. Parser messages are only reported
+     * when the file is parsed.
+     */
+    private SwaggerParseResult parseOrLoad(Path openapiDirectory, String file, Map<String, String> keys) {
+        String key = keys.get(file);
+        if (null != key) {
+            Optional<OpenAPI> stored = this.store.load(file, key);
+            if (stored.isPresent()) {
+                this.statistics.increment("schema files reused");
+                SwaggerParseResult result = new SwaggerParseResult();
+                result.setOpenAPI(stored.get());
+                return result;
+            }
+        }
+
+        this.statistics.increment("schema files parsed");
+        SwaggerParseResult result = parse(openapiDirectory + "/" + file);
+        if (null != key && null != result.getOpenAPI()) {
+            this.store.store(file, key, result.getOpenAPI());
+        }
+        return result;
+    }
+
+    private static SwaggerParseResult parse(String path) {
+        SchemaParseEvent event = new SchemaParseEvent();
+        event.begin();
         ParseOptions parseOptions = new ParseOptions();
         parseOptions.setResolve(true);
         SwaggerParseResult result = new OpenAPIV3Parser().readLocation(path, null, parseOptions);
+        event.end();
+        if (event.shouldCommit()) {
+            event.path = path;
+            event.schemas = Optional.ofNullable(result.getOpenAPI())
+                    .map(OpenAPI::getComponents)
+                    .map(Components::getSchemas)
+                    .map(Map::size)
+                    .orElse(0);
+            event.messages = null != result.getMessages() ? result.getMessages().size() : 0;
+            event.commit();
+        }
+        return result;
+    }
+
+    /**
+     * Wait for a parse submitted to the worker pool to complete. Parser messages are logged here, rather than on the
+     * worker, so that they are reported in the same order as the files are merged.
+     * @param path The path of the document, for error reporting
+     * @param pendingResult The pending result of parse(path)
+     * @return The parsed document
+     */
+    private static OpenAPI getOpenAPI(String path, Future<SwaggerParseResult> pendingResult) {
+        SwaggerParseResult result;
+        try {
+            result = pendingResult.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while parsing " + path, e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Couldn't parse " + path, e.getCause());
+        }
 
         List<String> messages = result.getMessages();
         if (null != messages) {
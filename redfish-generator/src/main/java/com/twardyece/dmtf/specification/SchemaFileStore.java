@@ -0,0 +1,127 @@
+package com.twardyece.dmtf.specification;
+
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.oas.models.OpenAPI;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * An in-memory store of the documents parsed from each schema file, for a generator that loads the same specification
+ * more than once. A document is reused while the file it was parsed from, and every file it refers to, is unchanged.
+ * Documents are kept in serialized form, because merging and promoting schemas mutates the parsed documents, so every
+ * load needs a fresh copy.
+ */
+public class SchemaFileStore {
+    // A reference to another file in the same directory, e.g. "$ref: ./Resource.yaml#/components/schemas/Resource_Id"
+    private static final Pattern FILE_REFERENCE = Pattern.compile("\\$ref['\"]?\\s*:\\s*['\"]?([^'\"#\\s]+\\.yaml)");
+    private static final Logger LOGGER = LoggerFactory.getLogger(SchemaFileStore.class);
+
+    private final Map<String, Entry> documents = new ConcurrentHashMap<>();
+
+    private record Entry(String key, byte[] document) {}
+
+    /**
+     * Compute the key of every YAML document in a directory. The key of a document changes whenever the content of the
+     * document, or of any document it refers to (directly or indirectly), changes.
+     * @param directory The directory containing the documents
+     * @return The key of each document, by file name
+     */
+    public Map<String, String> keys(Path directory) throws IOException {
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter((file) -> file.getFileName().toString().endsWith(".yaml")).toList();
+        }
+
+        Map<String, String> digests = new HashMap<>();
+        Map<String, Set<String>> references = new HashMap<>();
+        for (Path file : files) {
+            byte[] content = Files.readAllBytes(file);
+            String name = file.getFileName().toString();
+            digests.put(name, HexFormat.of().formatHex(newDigest().digest(content)));
+            Set<String> referencedFiles = new HashSet<>();
+            Matcher matcher = FILE_REFERENCE.matcher(new String(content, StandardCharsets.UTF_8));
+            while (matcher.find()) {
+                referencedFiles.add(Path.of(matcher.group(1)).getFileName().toString());
+            }
+            references.put(name, referencedFiles);
+        }
+
+        Map<String, String> keys = new HashMap<>();
+        for (String name : digests.keySet()) {
+            MessageDigest digest = newDigest();
+            for (String reachable : new TreeSet<>(closure(name, references))) {
+                // References to files outside the directory are not tracked.
+                String reachableDigest = digests.get(reachable);
+                if (null != reachableDigest) {
+                    digest.update((reachable + "\0" + reachableDigest + "\0").getBytes(StandardCharsets.UTF_8));
+                }
+            }
+            keys.put(name, HexFormat.of().formatHex(digest.digest()));
+        }
+        return keys;
+    }
+
+    private static Set<String> closure(String root, Map<String, Set<String>> references) {
+        Set<String> visited = new HashSet<>();
+        Deque<String> pending = new ArrayDeque<>(List.of(root));
+        while (!pending.isEmpty()) {
+            String next = pending.pop();
+            if (visited.add(next)) {
+                pending.addAll(references.getOrDefault(next, Set.of()));
+            }
+        }
+        return visited;
+    }
+
+    /**
+     * Load a copy of the document previously stored for a file.
+     * @param file The name of the file
+     * @param key The current key of the file, from keys()
+     * @return Optional.of(the document), or Optional.empty() if the file has changed since it was stored.
+     */
+    public Optional<OpenAPI> load(String file, String key) {
+        Entry entry = this.documents.get(file);
+        if (null == entry || !entry.key.equals(key)) {
+            return Optional.empty();
+        }
+
+        try {
+            return Optional.of(Json.mapper().readValue(entry.document, OpenAPI.class));
+        } catch (IOException e) {
+            LOGGER.warn("Ignoring unreadable stored document for " + file + ": " + e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Store the document parsed from a file, replacing any document previously stored for it. This must be called
+     * before the document is modified.
+     */
+    public void store(String file, String key, OpenAPI document) {
+        try {
+            this.documents.put(file, new Entry(key, Json.mapper().writeValueAsBytes(document)));
+        } catch (IOException e) {
+            LOGGER.warn("Unable to store the document parsed from " + file + ": " + e.getMessage());
+        }
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.twardyece.dmtf.specification;
+
+import com.twardyece.dmtf.text.ICaseConvertible;
+
+import java.util.Optional;
+
+/**
+ * The identifier of a schema in the Redfish Data Model, e.g. "ComputerSystem_v1_20_0_ComputerSystem", which is parsed
+ * as a versioned or an unversioned identifier at most once, however many times it is classified.
+ */
+public class SchemaIdentifier {
+    private final String name;
+    private Optional<VersionedSchemaIdentifier> versioned;
+    private Optional<UnversionedSchemaIdentifier> unversioned;
+
+    public SchemaIdentifier(String name) {
+        this.name = name;
+    }
+
+    public String getName() { return this.name; }
+
+    /**
+     * @return The identifier parsed as a versioned schema, or empty if it is not one.
+     */
+    public Optional<VersionedSchemaIdentifier> versioned() {
+        if (null == this.versioned) {
+            try {
+                this.versioned = VersionedSchemaIdentifier.parse(this.name);
+            } catch (ICaseConvertible.CaseConversionError e) {
+                this.versioned = Optional.empty();
+            }
+        }
+        return this.versioned;
+    }
+
+    /**
+     * @return The identifier parsed as an unversioned schema, or empty if it is not one.
+     */
+    public Optional<UnversionedSchemaIdentifier> unversioned() {
+        if (null == this.unversioned) {
+            try {
+                this.unversioned = UnversionedSchemaIdentifier.parse(this.name);
+            } catch (ICaseConvertible.CaseConversionError e) {
+                this.unversioned = Optional.empty();
+            }
+        }
+        return this.unversioned;
+    }
+
+    @Override
+    public String toString() { return this.name; }
+}
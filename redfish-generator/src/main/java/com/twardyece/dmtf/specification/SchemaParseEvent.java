@@ -0,0 +1,21 @@
+package com.twardyece.dmtf.specification;
+
+import jdk.jfr.*;
+
+@Name("com.twardyece.dmtf.SchemaParse")
+@Label("Schema Parse")
+@Category({"Redfish Codegen", "Specification"})
+@Description("Parsing of one OpenAPI document, including the external references it resolves")
+@StackTrace(false)
+class SchemaParseEvent extends Event {
+    @Label("Path")
+    String path;
+
+    @Label("Schemas")
+    @Description("Number of schemas defined by the document")
+    int schemas;
+
+    @Label("Messages")
+    @Description("Number of warnings and errors reported by the parser")
+    int messages;
+}
@@ -0,0 +1,117 @@
+package com.twardyece.dmtf.specification;
+
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.oas.models.OpenAPI;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * An on-disk cache of merged OpenAPI documents. Entries are keyed by a digest of the content of every file that was
+ * read to produce the document, so a cached document is only ever reused for byte-identical inputs. Documents are
+ * stored as compressed JSON, which is considerably faster to read back than parsing and resolving the YAML documents.
+ */
+public class SpecificationCache {
+    // Bump this whenever the shape of the cached document changes, e.g. because of a change to schema promotion.
+    private static final String FORMAT_VERSION = "1";
+    private static final String EXTENSION = ".json.gz";
+    private static final Logger LOGGER = LoggerFactory.getLogger(SpecificationCache.class);
+
+    private final Path cacheDirectory;
+
+    public SpecificationCache(Path cacheDirectory) {
+        this.cacheDirectory = cacheDirectory;
+    }
+
+    /**
+     * Compute the cache key for a set of input files.
+     * @param inputs The files read to produce the document, in the order they are read.
+     * @param parameters Any additional parameters that affect the content of the document.
+     * @return A hex-encoded digest of the inputs.
+     */
+    public String digest(List<Path> inputs, List<String> parameters) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+
+        update(digest, FORMAT_VERSION);
+        for (String parameter : parameters) {
+            update(digest, parameter);
+        }
+
+        for (Path input : inputs) {
+            update(digest, input.getFileName().toString());
+            byte[] content = Files.readAllBytes(input);
+            update(digest, String.valueOf(content.length));
+            digest.update(content);
+        }
+
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    /**
+     * Load a document from the cache.
+     * @param key The key returned from digest()
+     * @return Optional.of(the cached document), or Optional.empty() if there is no usable entry for this key.
+     */
+    public Optional<OpenAPI> load(String key) {
+        Path entry = this.cacheDirectory.resolve(key + EXTENSION);
+        if (!Files.isRegularFile(entry)) {
+            return Optional.empty();
+        }
+
+        try (InputStream input = new GZIPInputStream(new BufferedInputStream(Files.newInputStream(entry)))) {
+            return Optional.of(Json.mapper().readValue(input, OpenAPI.class));
+        } catch (IOException e) {
+            LOGGER.warn("Ignoring unreadable cache entry " + entry + ": " + e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Store a document in the cache. The entry is written to a temporary file first, so that concurrent readers never
+     * observe a partially written entry.
+     * @param key The key returned from digest()
+     * @param document The document to store
+     */
+    public void store(String key, OpenAPI document) {
+        Path temporary = null;
+        try {
+            Files.createDirectories(this.cacheDirectory);
+            temporary = Files.createTempFile(this.cacheDirectory, key, ".tmp");
+            try (OutputStream output = new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+                Json.mapper().writeValue(output, document);
+            }
+            Files.move(temporary, this.cacheDirectory.resolve(key + EXTENSION), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOGGER.warn("Unable to write specification cache entry: " + e.getMessage());
+            try {
+                if (null != temporary) {
+                    Files.deleteIfExists(temporary);
+                }
+            } catch (IOException ignored) {
+            }
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.twardyece.dmtf.specification;
 
 import com.twardyece.dmtf.text.PascalCaseName;
 
+import java.util.Optional;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -13,13 +14,29 @@ public class UnversionedSchemaIdentifier {
     private static final Pattern pattern = Pattern.compile("(?<module>[a-zA-Z0-9]*)_(?<model>[a-zA-Z0-9]+)");
 
     public UnversionedSchemaIdentifier(String name) {
+        this(match(name));
+    }
+
+    private UnversionedSchemaIdentifier(Matcher matcher) {
+        this.module = new PascalCaseName(matcher.group("module"));
+        this.model = new PascalCaseName(matcher.group("model"));
+    }
+
+    private static Matcher match(String name) {
         Matcher matcher = pattern.matcher(name);
         if (!matcher.find()) {
             throw new IdentifierParseError(name + " is not an unversioned identifier");
         }
+        return matcher;
+    }
 
-        this.module = new PascalCaseName(matcher.group("module"));
-        this.model = new PascalCaseName(matcher.group("model"));
+    /**
+     * Like the constructor, but without the cost of an exception for a name that is not an unversioned identifier.
+     * @return The identifier, or empty if the name is not an unversioned identifier.
+     */
+    public static Optional<UnversionedSchemaIdentifier> parse(String name) {
+        Matcher matcher = pattern.matcher(name);
+        return matcher.find() ? Optional.of(new UnversionedSchemaIdentifier(matcher)) : Optional.empty();
     }
 
     public PascalCaseName getModule() { return this.module; }
@@ -3,6 +3,7 @@ package com.twardyece.dmtf.specification;
 import com.twardyece.dmtf.text.PascalCaseName;
 import com.twardyece.dmtf.text.SnakeCaseName;
 
+import java.util.Optional;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -20,14 +21,30 @@ public class VersionedSchemaIdentifier {
             "(?<module>[a-zA-z0-9]*)_(?<version>" + VERSION_PATTERN + ")_(?<model>[a-zA-Z0-9]+)");
 
     public VersionedSchemaIdentifier(String name) {
+        this(match(name));
+    }
+
+    private VersionedSchemaIdentifier(Matcher matcher) {
+        this.module = new PascalCaseName(matcher.group("module"));
+        this.version = new SnakeCaseName(matcher.group("version"));
+        this.model = new PascalCaseName(matcher.group("model"));
+    }
+
+    private static Matcher match(String name) {
         Matcher matcher = pattern.matcher(name);
         if (!matcher.find()) {
             throw new IdentifierParseError(name + " is not a versioned schema");
         }
+        return matcher;
+    }
 
-        this.module = new PascalCaseName(matcher.group("module"));
-        this.version = new SnakeCaseName(matcher.group("version"));
-        this.model = new PascalCaseName(matcher.group("model"));
+    /**
+     * Like the constructor, but without the cost of an exception for a name that is not a versioned schema.
+     * @return The identifier, or empty if the name is not a versioned schema.
+     */
+    public static Optional<VersionedSchemaIdentifier> parse(String name) {
+        Matcher matcher = pattern.matcher(name);
+        return matcher.find() ? Optional.of(new VersionedSchemaIdentifier(matcher)) : Optional.empty();
     }
 
     public PascalCaseName getModule() { return this.module; }
@@ -0,0 +1,46 @@
+package com.twardyece.dmtf.specification.ir;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.media.Schema;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The compact, immutable representation of the Redfish data model that the generator works from. It is built from the
+ * merged OpenAPI document, which may be released once this has been built.
+ */
+public class DataModel {
+    private final Map<String, SchemaNode> schemas;
+    private final Map<String, PathNode> paths;
+
+    private DataModel(Map<String, SchemaNode> schemas, Map<String, PathNode> paths) {
+        this.schemas = schemas;
+        this.paths = paths;
+    }
+
+    public static DataModel of(OpenAPI document) {
+        SchemaInterner interner = new SchemaInterner();
+        Map<String, SchemaNode> schemas = new LinkedHashMap<>();
+        for (Map.Entry<String, Schema> schema : document.getComponents().getSchemas().entrySet()) {
+            schemas.put(schema.getKey(), interner.intern(schema.getValue()));
+        }
+
+        Map<String, PathNode> paths = new LinkedHashMap<>();
+        if (null != document.getPaths()) {
+            for (Map.Entry<String, PathItem> path : document.getPaths().entrySet()) {
+                paths.put(path.getKey(), interner.intern(path.getValue()));
+            }
+        }
+
+        return new DataModel(Collections.unmodifiableMap(schemas), Collections.unmodifiableMap(paths));
+    }
+
+    // The schemas of the components of the document, in the order they are declared.
+    public Map<String, SchemaNode> getSchemas() { return this.schemas; }
+
+    // The paths of the document, in the order they are declared.
+    public Map<String, PathNode> getPaths() { return this.paths; }
+}
@@ -0,0 +1,11 @@
+package com.twardyece.dmtf.specification.ir;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable operation on a path of the data model, keeping the schemas of its parameters, request body and
+ * responses. Content is keyed by media type, and responses by status code.
+ */
+public record OperationNode(List<SchemaNode> parameterSchemas, Map<String, SchemaNode> requestBody,
+                            Map<String, Map<String, SchemaNode>> responses) {}
@@ -0,0 +1,10 @@
+package com.twardyece.dmtf.specification.ir;
+
+import io.swagger.v3.oas.models.PathItem;
+
+import java.util.Map;
+
+/**
+ * An immutable path of the data model: the operations it supports, in the order of PathItem.readOperationsMap().
+ */
+public record PathNode(Map<PathItem.HttpMethod, OperationNode> operations) {}
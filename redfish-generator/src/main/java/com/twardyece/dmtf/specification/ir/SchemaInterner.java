@@ -0,0 +1,154 @@
+package com.twardyece.dmtf.specification.ir;
+
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.media.Content;
+import io.swagger.v3.oas.models.media.MediaType;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.parameters.Parameter;
+import io.swagger.v3.oas.models.responses.ApiResponse;
+
+import java.util.*;
+
+/**
+ * Translates swagger-parser models into schema nodes. Structurally identical schemas translate to the same node, and
+ * equal strings to the same string, so the memory held by the result is proportional to the number of distinct
+ * schemas, rather than the number of places they appear in the document.
+ */
+public class SchemaInterner {
+    private final Map<SchemaNode, SchemaNode> nodes = new HashMap<>();
+    private final Map<String, String> strings = new HashMap<>();
+    // Swagger-parser shares some schema objects between the places they appear, so they only need translating once.
+    private final Map<Schema, SchemaNode> translated = new IdentityHashMap<>();
+
+    public SchemaNode intern(Schema schema) {
+        if (null == schema) {
+            return null;
+        }
+
+        SchemaNode node = this.translated.get(schema);
+        if (null == node) {
+            node = this.nodes.computeIfAbsent(this.translate(schema), (k) -> k);
+            this.translated.put(schema, node);
+        }
+        return node;
+    }
+
+    public PathNode intern(PathItem pathItem) {
+        Map<PathItem.HttpMethod, OperationNode> operations = new LinkedHashMap<>();
+        for (Map.Entry<PathItem.HttpMethod, Operation> operation : pathItem.readOperationsMap().entrySet()) {
+            operations.put(operation.getKey(), this.intern(operation.getValue()));
+        }
+        return new PathNode(Collections.unmodifiableMap(operations));
+    }
+
+    private OperationNode intern(Operation operation) {
+        List<SchemaNode> parameterSchemas = new ArrayList<>();
+        if (null != operation.getParameters()) {
+            for (Parameter parameter : operation.getParameters()) {
+                if (null != parameter.getSchema()) {
+                    parameterSchemas.add(this.intern(parameter.getSchema()));
+                }
+            }
+        }
+
+        Map<String, SchemaNode> requestBody = null != operation.getRequestBody()
+                ? this.intern(operation.getRequestBody().getContent())
+                : Map.of();
+        Map<String, Map<String, SchemaNode>> responses = new LinkedHashMap<>();
+        if (null != operation.getResponses()) {
+            for (Map.Entry<String, ApiResponse> response : operation.getResponses().entrySet()) {
+                responses.put(this.intern(response.getKey()), this.intern(response.getValue().getContent()));
+            }
+        }
+
+        return new OperationNode(Collections.unmodifiableList(parameterSchemas), requestBody,
+                Collections.unmodifiableMap(responses));
+    }
+
+    private Map<String, SchemaNode> intern(Content content) {
+        if (null == content) {
+            return Map.of();
+        }
+
+        Map<String, SchemaNode> schemas = new LinkedHashMap<>();
+        for (Map.Entry<String, MediaType> mediaType : content.entrySet()) {
+            SchemaNode schema = this.intern(mediaType.getValue().getSchema());
+            if (null != schema) {
+                schemas.put(this.intern(mediaType.getKey()), schema);
+            }
+        }
+        return Collections.unmodifiableMap(schemas);
+    }
+
+    private String intern(String string) {
+        return null != string ? this.strings.computeIfAbsent(string, (k) -> k) : null;
+    }
+
+    private SchemaNode translate(Schema<?> schema) {
+        List<String> enumValues = null;
+        if (null != schema.getEnum()) {
+            enumValues = new ArrayList<>();
+            for (Object value : schema.getEnum()) {
+                enumValues.add(null != value ? this.intern(value.toString()) : null);
+            }
+            enumValues = Collections.unmodifiableList(enumValues);
+        }
+
+        Map<String, SchemaNode> properties = null;
+        if (null != schema.getProperties()) {
+            properties = new LinkedHashMap<>();
+            for (Map.Entry<String, Schema> property : schema.getProperties().entrySet()) {
+                properties.put(this.intern(property.getKey()), this.intern(property.getValue()));
+            }
+            properties = Collections.unmodifiableMap(properties);
+        }
+
+        List<String> required = null;
+        if (null != schema.getRequired()) {
+            required = schema.getRequired().stream().map(this::intern).toList();
+        }
+
+        Map<String, Object> extensions = null != schema.getExtensions() ? schema.getExtensions() : Map.of();
+        return new SchemaNode(
+                this.intern(schema.get$ref()),
+                this.intern(schema.getType()),
+                this.intern(schema.getDescription()),
+                enumValues,
+                this.internExtension(extensions.get("x-enumDescriptions")),
+                this.internExtension(extensions.get("x-enumLongDescriptions")),
+                this.internExtension(extensions.get("x-enumVersionAdded")),
+                properties,
+                required,
+                this.intern(schema.getItems()),
+                schema.getAdditionalProperties() instanceof Schema<?> additionalProperties
+                        ? this.intern(additionalProperties)
+                        : null,
+                this.intern(schema.getNot()),
+                this.internAll(schema.getAllOf()),
+                this.internAll(schema.getAnyOf()),
+                this.internAll(schema.getOneOf()));
+    }
+
+    private List<SchemaNode> internAll(List<Schema> schemas) {
+        if (null == schemas) {
+            return null;
+        }
+
+        List<SchemaNode> nodes = new ArrayList<>(schemas.size());
+        for (Schema schema : schemas) {
+            nodes.add(this.intern(schema));
+        }
+        return Collections.unmodifiableList(nodes);
+    }
+
+    private Map<String, String> internExtension(Object extension) {
+        if (!(extension instanceof Map<?, ?> values)) {
+            return Map.of();
+        }
+
+        Map<String, String> strings = new LinkedHashMap<>();
+        values.forEach((key, value) -> strings.put(this.intern(key.toString()), this.intern(value.toString())));
+        return Collections.unmodifiableMap(strings);
+    }
+}
@@ -0,0 +1,104 @@
+package com.twardyece.dmtf.specification.ir;
+
+import java.util.*;
+
+/**
+ * An immutable schema object of the data model, keeping only what the generator reads from it. Schema nodes are built
+ * by a SchemaInterner, which shares structurally identical nodes (and strings), so that the many identical inline
+ * schemas of the Redfish data model are held in memory once. Absent attributes are null, as in the OpenAPI model, and
+ * present collections are unmodifiable.
+ */
+public final class SchemaNode {
+    private final String ref;
+    private final String type;
+    private final String description;
+    private final List<String> enumValues;
+    // Documentation of the enum values, from the x-enumDescriptions, x-enumLongDescriptions and x-enumVersionAdded
+    // extensions. Never null.
+    private final Map<String, String> enumDescriptions;
+    private final Map<String, String> enumLongDescriptions;
+    private final Map<String, String> enumVersionAdded;
+    private final Map<String, SchemaNode> properties;
+    private final List<String> required;
+    private final SchemaNode items;
+    private final SchemaNode additionalProperties;
+    private final SchemaNode not;
+    private final List<SchemaNode> allOf;
+    private final List<SchemaNode> anyOf;
+    private final List<SchemaNode> oneOf;
+    private final int hash;
+
+    SchemaNode(String ref, String type, String description, List<String> enumValues,
+               Map<String, String> enumDescriptions, Map<String, String> enumLongDescriptions,
+               Map<String, String> enumVersionAdded, Map<String, SchemaNode> properties, List<String> required,
+               SchemaNode items, SchemaNode additionalProperties, SchemaNode not, List<SchemaNode> allOf,
+               List<SchemaNode> anyOf, List<SchemaNode> oneOf) {
+        this.ref = ref;
+        this.type = type;
+        this.description = description;
+        this.enumValues = enumValues;
+        this.enumDescriptions = enumDescriptions;
+        this.enumLongDescriptions = enumLongDescriptions;
+        this.enumVersionAdded = enumVersionAdded;
+        this.properties = properties;
+        this.required = required;
+        this.items = items;
+        this.additionalProperties = additionalProperties;
+        this.not = not;
+        this.allOf = allOf;
+        this.anyOf = anyOf;
+        this.oneOf = oneOf;
+        this.hash = Objects.hash(ref, type, description, enumValues, enumDescriptions, enumLongDescriptions,
+                enumVersionAdded, properties, required, items, additionalProperties, not, allOf, anyOf, oneOf);
+    }
+
+    public String getRef() { return this.ref; }
+    public String getType() { return this.type; }
+    public String getDescription() { return this.description; }
+    // The values of the enum. A null value is the null literal.
+    public List<String> getEnum() { return this.enumValues; }
+    public Map<String, String> getEnumDescriptions() { return this.enumDescriptions; }
+    public Map<String, String> getEnumLongDescriptions() { return this.enumLongDescriptions; }
+    public Map<String, String> getEnumVersionAdded() { return this.enumVersionAdded; }
+    // The properties of an object, in the order they are declared.
+    public Map<String, SchemaNode> getProperties() { return this.properties; }
+    public List<String> getRequired() { return this.required; }
+    public SchemaNode getItems() { return this.items; }
+    // The schema of additional properties, if it is given as a schema rather than a boolean.
+    public SchemaNode getAdditionalProperties() { return this.additionalProperties; }
+    public SchemaNode getNot() { return this.not; }
+    public List<SchemaNode> getAllOf() { return this.allOf; }
+    public List<SchemaNode> getAnyOf() { return this.anyOf; }
+    public List<SchemaNode> getOneOf() { return this.oneOf; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof SchemaNode other) || this.hash != other.hash) {
+            return false;
+        }
+
+        return Objects.equals(this.ref, other.ref)
+                && Objects.equals(this.type, other.type)
+                && Objects.equals(this.description, other.description)
+                && Objects.equals(this.enumValues, other.enumValues)
+                && this.enumDescriptions.equals(other.enumDescriptions)
+                && this.enumLongDescriptions.equals(other.enumLongDescriptions)
+                && this.enumVersionAdded.equals(other.enumVersionAdded)
+                && Objects.equals(this.properties, other.properties)
+                && Objects.equals(this.required, other.required)
+                && Objects.equals(this.items, other.items)
+                && Objects.equals(this.additionalProperties, other.additionalProperties)
+                && Objects.equals(this.not, other.not)
+                && Objects.equals(this.allOf, other.allOf)
+                && Objects.equals(this.anyOf, other.anyOf)
+                && Objects.equals(this.oneOf, other.oneOf);
+    }
+
+    @Override
+    public int hashCode() {
+        return this.hash;
+    }
+}
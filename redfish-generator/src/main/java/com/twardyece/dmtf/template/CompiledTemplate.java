@@ -0,0 +1,442 @@
+package com.twardyece.dmtf.template;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Array;
+import java.util.*;
+
+/**
+ * A mustache template, parsed into a tree of nodes that render directly into a StringBuilder. The subset of mustache
+ * used by the generator's templates is supported: variables, unescaped variables, sections, inverted sections and
+ * comments. The output is identical to that of mustache.java with a DefaultMustacheFactory, including its HTML escaping
+ * of variables and its removal of lines that contain only a standalone section tag.
+ * <p>
+ * Each tag remembers where it last found its value: which scope, by its distance from the innermost scope, and which
+ * member of that scope's class. As long as the classes of the scopes are the same as the last time, which is the
+ * common case, the value is read directly, without searching the scopes or consulting the reflection API.
+ */
+public class CompiledTemplate implements ITemplate {
+    private static final String[] ESCAPES = new String[97];
+    private final String name;
+    private final Node[] nodes;
+    // The length of the last rendered output, used to size the buffer for the next one.
+    private volatile int lengthHint;
+
+    static {
+        for (char c = 0; c <= 13; ++c) {
+            ESCAPES[c] = "&#" + (int) c + ";";
+        }
+        ESCAPES['&'] = "&amp;";
+        ESCAPES['<'] = "&lt;";
+        ESCAPES['>'] = "&gt;";
+        ESCAPES['"'] = "&quot;";
+        ESCAPES['\''] = "&#39;";
+        ESCAPES['`'] = "&#96;";
+        ESCAPES['='] = "&#61;";
+    }
+
+    private CompiledTemplate(String name, Node[] nodes, int lengthHint) {
+        this.name = name;
+        this.nodes = nodes;
+        this.lengthHint = lengthHint;
+    }
+
+    /**
+     * Parse a template.
+     * @param name The name of the template, for error reporting
+     * @param source The content of the template
+     * @throws RuntimeException if the template is malformed, or uses a feature that is not supported.
+     */
+    public static CompiledTemplate parse(String name, String source) {
+        return new CompiledTemplate(name, new Parser(name, source).parse(), source.length());
+    }
+
+    @Override
+    public String render(Object context) {
+        StringBuilder output = new StringBuilder(this.lengthHint + 256);
+        Scopes scopes = new Scopes();
+        scopes.push(context);
+        render(this.nodes, output, scopes);
+        this.lengthHint = output.length();
+        return output.toString();
+    }
+
+    @Override
+    public String toString() {
+        return this.name;
+    }
+
+    private static void render(Node[] nodes, StringBuilder output, Scopes scopes) {
+        for (Node node : nodes) {
+            node.render(output, scopes);
+        }
+    }
+
+    private static void escape(String value, StringBuilder output) {
+        int start = 0;
+        for (int i = 0; i < value.length(); ++i) {
+            char c = value.charAt(i);
+            String replacement = c < ESCAPES.length ? ESCAPES[c] : null;
+            if (null != replacement) {
+                output.append(value, start, i).append(replacement);
+                start = i + 1;
+            }
+        }
+        output.append(value, start, value.length());
+    }
+
+    // Unwrap optional values, as mustache.java does.
+    private static Object coerce(Object value) {
+        while (value instanceof Optional<?> optional) {
+            value = optional.orElse(null);
+        }
+        return value;
+    }
+
+    private static final class Scopes {
+        private Object[] values = new Object[8];
+        private int size;
+
+        void push(Object value) {
+            if (this.size == this.values.length) {
+                this.values = Arrays.copyOf(this.values, 2 * this.size);
+            }
+            this.values[this.size++] = value;
+        }
+
+        void pop() {
+            this.values[--this.size] = null;
+        }
+    }
+
+    private abstract static class Node {
+        abstract void render(StringBuilder output, Scopes scopes);
+    }
+
+    private static final class Text extends Node {
+        private final String text;
+
+        Text(String text) {
+            this.text = text;
+        }
+
+        @Override
+        void render(StringBuilder output, Scopes scopes) {
+            output.append(this.text);
+        }
+    }
+
+    private static final class Variable extends Node {
+        private final Lookup lookup;
+        private final boolean escaped;
+
+        Variable(String name, boolean escaped) {
+            this.lookup = new Lookup(name);
+            this.escaped = escaped;
+        }
+
+        @Override
+        void render(StringBuilder output, Scopes scopes) {
+            Object value = this.lookup.get(scopes);
+            if (null == value) {
+                return;
+            }
+
+            if (this.escaped) {
+                escape(value.toString(), output);
+            } else {
+                output.append(value);
+            }
+        }
+    }
+
+    private static final class Section extends Node {
+        private final Lookup lookup;
+        private final Node[] children;
+
+        Section(String name, Node[] children) {
+            this.lookup = new Lookup(name);
+            this.children = children;
+        }
+
+        @Override
+        void render(StringBuilder output, Scopes scopes) {
+            Object value = this.lookup.get(scopes);
+            if (null == value || Boolean.FALSE.equals(value) || "".equals(value)) {
+                return;
+            }
+
+            if (value instanceof List<?> list) {
+                for (int i = 0; i < list.size(); ++i) {
+                    this.renderWith(coerce(list.get(i)), output, scopes);
+                }
+            } else if (value instanceof Iterable<?> iterable) {
+                for (Object item : iterable) {
+                    this.renderWith(coerce(item), output, scopes);
+                }
+            } else if (value instanceof Iterator<?> iterator) {
+                while (iterator.hasNext()) {
+                    this.renderWith(coerce(iterator.next()), output, scopes);
+                }
+            } else if (value.getClass().isArray()) {
+                int length = Array.getLength(value);
+                for (int i = 0; i < length; ++i) {
+                    this.renderWith(coerce(Array.get(value, i)), output, scopes);
+                }
+            } else {
+                this.renderWith(value, output, scopes);
+            }
+        }
+
+        private void renderWith(Object scope, StringBuilder output, Scopes scopes) {
+            // As in mustache.java, a null item does not hide the enclosing scopes.
+            if (null == scope) {
+                CompiledTemplate.render(this.children, output, scopes);
+                return;
+            }
+
+            scopes.push(scope);
+            try {
+                CompiledTemplate.render(this.children, output, scopes);
+            } finally {
+                scopes.pop();
+            }
+        }
+    }
+
+    private static final class InvertedSection extends Node {
+        private final Lookup lookup;
+        private final Node[] children;
+
+        InvertedSection(String name, Node[] children) {
+            this.lookup = new Lookup(name);
+            this.children = children;
+        }
+
+        @Override
+        void render(StringBuilder output, Scopes scopes) {
+            if (isFalsey(this.lookup.get(scopes))) {
+                CompiledTemplate.render(this.children, output, scopes);
+            }
+        }
+
+        private static boolean isFalsey(Object value) {
+            if (null == value) {
+                return true;
+            } else if (value instanceof Boolean bool) {
+                return !bool;
+            } else if (value instanceof String string) {
+                return string.isEmpty();
+            } else if (value instanceof List<?> list) {
+                return list.isEmpty();
+            } else if (value instanceof Iterable<?> iterable) {
+                return !iterable.iterator().hasNext();
+            } else if (value instanceof Iterator<?> iterator) {
+                return !iterator.hasNext();
+            } else if (value.getClass().isArray()) {
+                return 0 == Array.getLength(value);
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Resolves a name against the scopes, from the innermost outwards. The first scope that is a map containing the
+     * name, or whose class has a member of that name, provides the value.
+     */
+    private static final class Lookup {
+        private final String name;
+        private volatile Resolution resolution;
+
+        // The classes of the scopes that were searched, innermost first, and the member found on the last of them.
+        private record Resolution(Class<?>[] classes, MethodHandle accessor) {
+            boolean matches(Scopes scopes) {
+                if (this.classes.length > scopes.size) {
+                    return false;
+                }
+                for (int i = 0; i < this.classes.length; ++i) {
+                    if (scopes.values[scopes.size - 1 - i].getClass() != this.classes[i]) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+        }
+
+        Lookup(String name) {
+            this.name = name;
+        }
+
+        Object get(Scopes scopes) {
+            Resolution resolution = this.resolution;
+            if (null == resolution || !resolution.matches(scopes)) {
+                resolution = this.resolve(scopes);
+                if (null == resolution) {
+                    // A map was searched, so the result depends on its content, and can't be reused.
+                    return this.search(scopes);
+                }
+                this.resolution = resolution;
+            }
+
+            if (null == resolution.accessor) {
+                return null;
+            }
+            return invoke(resolution.accessor, scopes.values[scopes.size - resolution.classes.length]);
+        }
+
+        private Resolution resolve(Scopes scopes) {
+            Class<?>[] classes = new Class<?>[scopes.size];
+            for (int i = 0; i < scopes.size; ++i) {
+                Object scope = scopes.values[scopes.size - 1 - i];
+                if (scope instanceof Map<?, ?>) {
+                    return null;
+                }
+
+                classes[i] = scope.getClass();
+                MethodHandle accessor = MemberAccessors.find(classes[i], this.name);
+                if (null != accessor) {
+                    return new Resolution(Arrays.copyOf(classes, i + 1), accessor);
+                }
+            }
+            return new Resolution(classes, null);
+        }
+
+        private Object search(Scopes scopes) {
+            for (int i = scopes.size - 1; i >= 0; --i) {
+                Object scope = scopes.values[i];
+                if (scope instanceof Map<?, ?> map) {
+                    if (map.containsKey(this.name)) {
+                        return coerce(map.get(this.name));
+                    }
+                    continue;
+                }
+
+                MethodHandle accessor = MemberAccessors.find(scope.getClass(), this.name);
+                if (null != accessor) {
+                    return invoke(accessor, scope);
+                }
+            }
+            return null;
+        }
+
+        private Object invoke(MethodHandle accessor, Object scope) {
+            try {
+                return coerce((Object) accessor.invokeExact(scope));
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new RuntimeException("Failed to get value for " + this.name, e);
+            }
+        }
+    }
+
+    private static final class Parser {
+        private final String name;
+        private final String source;
+        private int position;
+        private int textStart;
+
+        Parser(String name, String source) {
+            this.name = name;
+            this.source = source;
+        }
+
+        Node[] parse() {
+            Deque<String> sections = new ArrayDeque<>();
+            Deque<List<Node>> siblings = new ArrayDeque<>();
+            Deque<Character> kinds = new ArrayDeque<>();
+            List<Node> nodes = new ArrayList<>();
+
+            while (true) {
+                int open = this.source.indexOf("{{", this.position);
+                if (-1 == open) {
+                    this.addText(nodes, this.source.length());
+                    break;
+                }
+
+                boolean triple = this.source.startsWith("{{{", open);
+                String terminator = triple ? "}}}" : "}}";
+                int close = this.source.indexOf(terminator, open + (triple ? 3 : 2));
+                if (-1 == close) {
+                    throw this.error("Unclosed tag", open);
+                }
+                String tag = this.source.substring(open + (triple ? 3 : 2), close).trim();
+                int end = close + terminator.length();
+                char kind = triple ? '&' : (tag.isEmpty() ? ' ' : tag.charAt(0));
+                String name = triple || "&#^/!".indexOf(kind) < 0 ? tag : tag.substring(1).trim();
+
+                switch (kind) {
+                    case '#', '^', '/', '!' -> {
+                        int lineStart = this.source.lastIndexOf('\n', open - 1) + 1;
+                        int lineEnd = this.source.indexOf('\n', end);
+                        int next = -1 == lineEnd ? this.source.length() : lineEnd + 1;
+                        if (lineStart >= this.textStart && isBlank(lineStart, open) && isBlank(end, next)) {
+                            // A standalone tag: its line is removed from the output entirely.
+                            this.addText(nodes, lineStart);
+                            this.textStart = next;
+                        } else {
+                            this.addText(nodes, open);
+                            this.textStart = end;
+                        }
+                    }
+                    case '>', '=' -> throw this.error("Unsupported tag {{" + tag + "}}", open);
+                    default -> {
+                        this.addText(nodes, open);
+                        this.textStart = end;
+                    }
+                }
+                this.position = end;
+
+                switch (kind) {
+                    case '#', '^' -> {
+                        sections.push(name);
+                        kinds.push(kind);
+                        siblings.push(nodes);
+                        nodes = new ArrayList<>();
+                    }
+                    case '/' -> {
+                        if (sections.isEmpty() || !sections.peek().equals(name)) {
+                            throw this.error("Unexpected {{/" + name + "}}", open);
+                        }
+                        sections.pop();
+                        Node[] children = nodes.toArray(new Node[0]);
+                        nodes = siblings.pop();
+                        nodes.add('#' == kinds.pop() ? new Section(name, children) : new InvertedSection(name, children));
+                    }
+                    case '!' -> {}
+                    default -> nodes.add(new Variable(name, '&' != kind));
+                }
+            }
+
+            if (!sections.isEmpty()) {
+                throw new RuntimeException("Unclosed section " + sections.peek() + " in template " + this.name);
+            }
+            return nodes.toArray(new Node[0]);
+        }
+
+        private void addText(List<Node> nodes, int end) {
+            if (end > this.textStart) {
+                nodes.add(new Text(this.source.substring(this.textStart, end)));
+            }
+        }
+
+        private boolean isBlank(int start, int end) {
+            for (int i = start; i < end; ++i) {
+                char c = this.source.charAt(i);
+                if (' ' != c && '\t' != c && '\r' != c && '\n' != c) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private RuntimeException error(String message, int position) {
+            int line = 1;
+            for (int i = 0; i < position; ++i) {
+                if ('\n' == this.source.charAt(i)) {
+                    ++line;
+                }
+            }
+            return new RuntimeException(message + " at line " + line + " of template " + this.name);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.twardyece.dmtf.template;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Parses each template once, into a CompiledTemplate that renders without searching for the value of each tag every
+ * time it is rendered.
+ */
+public class CompiledTemplateEngine implements ITemplateEngine {
+    private final ClassLoader classLoader;
+
+    public CompiledTemplateEngine() {
+        this(CompiledTemplateEngine.class.getClassLoader());
+    }
+
+    public CompiledTemplateEngine(ClassLoader classLoader) {
+        this.classLoader = classLoader;
+    }
+
+    @Override
+    public ITemplate compile(String name) {
+        try (InputStream stream = this.classLoader.getResourceAsStream(name)) {
+            if (null == stream) {
+                throw new RuntimeException("Template " + name + " not found");
+            }
+            return CompiledTemplate.parse(name, new String(stream.readAllBytes(), StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read template " + name, e);
+        }
+    }
+}
@@ -0,0 +1,5 @@
+package com.twardyece.dmtf.template;
+
+public interface ITemplate {
+    String render(Object context);
+}
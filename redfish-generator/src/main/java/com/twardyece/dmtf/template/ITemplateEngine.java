@@ -0,0 +1,8 @@
+package com.twardyece.dmtf.template;
+
+public interface ITemplateEngine {
+    /**
+     * @param name The classpath resource containing the template, e.g. "templates/model.mustache"
+     */
+    ITemplate compile(String name);
+}
@@ -0,0 +1,149 @@
+package com.twardyece.dmtf.template;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.*;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Finds the member of a class that a template tag refers to by name, following the same rules as mustache.java's
+ * ReflectionObjectHandler: a method name(), getName() or isName(), or else a field, none of which may be private. The
+ * member found for each class and name is cached, as a method handle taking the context object and returning the value.
+ */
+final class MemberAccessors {
+    private static final MethodType ACCESSOR_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final ClassValue<Map<String, Optional<MethodHandle>>> ACCESSORS = new ClassValue<>() {
+        @Override
+        protected Map<String, Optional<MethodHandle>> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private MemberAccessors() {}
+
+    /**
+     * @return A handle that reads the member from an instance of the class, or null if the class has no such member.
+     */
+    static MethodHandle find(Class<?> type, String name) {
+        return ACCESSORS.get(type).computeIfAbsent(name, (k) -> Optional.ofNullable(findMember(type, name))
+                .map(MemberAccessors::toAccessor)).orElse(null);
+    }
+
+    private static MethodHandle toAccessor(AccessibleObject member) {
+        try {
+            MethodHandle handle;
+            boolean isStatic;
+            if (member instanceof Method method) {
+                handle = MethodHandles.lookup().unreflect(method);
+                isStatic = Modifier.isStatic(method.getModifiers());
+            } else {
+                Field field = (Field) member;
+                handle = MethodHandles.lookup().unreflectGetter(field);
+                isStatic = Modifier.isStatic(field.getModifiers());
+            }
+
+            if (isStatic) {
+                handle = MethodHandles.dropArguments(handle, 0, Object.class);
+            }
+            return handle.asType(ACCESSOR_TYPE);
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    // The members of classes that are not public are looked for on their interfaces and superclasses first, since the
+    // same member on the class itself may not be accessible.
+    private static AccessibleObject findMember(Class<?> type, String name) {
+        if (String.class == type && "value".equals(name)) {
+            return null;
+        }
+
+        if (!Modifier.isPublic(type.getModifiers())) {
+            for (Class<?> superinterface : type.getInterfaces()) {
+                AccessibleObject member = findMember(superinterface, name);
+                if (null != member) {
+                    return member;
+                }
+            }
+
+            Class<?> superclass = type.getSuperclass();
+            if (null != superclass && Object.class != superclass) {
+                AccessibleObject member = findMember(superclass, name);
+                if (null != member) {
+                    return member;
+                }
+            }
+        }
+
+        return findMemberOnClass(type, name);
+    }
+
+    private static AccessibleObject findMemberOnClass(Class<?> type, String name) {
+        String property = name.substring(0, 1).toUpperCase() + (name.length() > 1 ? name.substring(1) : "");
+        try {
+            return getMethod(type, name);
+        } catch (NoSuchMethodException e) {
+            try {
+                return getMethod(type, "get" + property);
+            } catch (NoSuchMethodException e2) {
+                try {
+                    return getMethod(type, "is" + property);
+                } catch (NoSuchMethodException e3) {
+                    try {
+                        return getField(type, name);
+                    } catch (NoSuchFieldException e4) {
+                        return null;
+                    }
+                }
+            }
+        }
+    }
+
+    private static Method getMethod(Class<?> type, String name) throws NoSuchMethodException {
+        Method method;
+        try {
+            method = type.getMethod(name);
+            if (Object.class == method.getDeclaringClass()) {
+                throw new NoSuchMethodException();
+            }
+        } catch (NoSuchMethodException e) {
+            try {
+                method = type.getDeclaredMethod(name);
+            } catch (NoSuchMethodException e2) {
+                Class<?> superclass = type.getSuperclass();
+                if (null != superclass && Object.class != superclass) {
+                    return getMethod(superclass, name);
+                }
+                throw e2;
+            }
+        }
+
+        if (Modifier.isPrivate(method.getModifiers())) {
+            throw new NoSuchMethodException("Only public, protected and package members allowed");
+        }
+        method.setAccessible(true);
+        return method;
+    }
+
+    private static Field getField(Class<?> type, String name) throws NoSuchFieldException {
+        Field field;
+        try {
+            field = type.getDeclaredField(name);
+        } catch (NoSuchFieldException e) {
+            Class<?> superclass = type.getSuperclass();
+            if (null != superclass && Object.class != superclass) {
+                return getField(superclass, name);
+            }
+            throw e;
+        }
+
+        if (Modifier.isPrivate(field.getModifiers())) {
+            throw new NoSuchFieldException("Only public, protected and package members allowed");
+        }
+        field.setAccessible(true);
+        return field;
+    }
+}
@@ -0,0 +1,27 @@
+package com.twardyece.dmtf.template;
+
+import com.github.mustachejava.Mustache;
+import com.github.mustachejava.MustacheFactory;
+
+import java.io.StringWriter;
+
+/**
+ * Renders templates with mustache.java, which resolves every tag reflectively each time it is rendered.
+ */
+public class MustacheTemplateEngine implements ITemplateEngine {
+    private final MustacheFactory factory;
+
+    public MustacheTemplateEngine(MustacheFactory factory) {
+        this.factory = factory;
+    }
+
+    @Override
+    public ITemplate compile(String name) {
+        Mustache mustache = this.factory.compile(name);
+        return (context) -> {
+            StringWriter writer = new StringWriter();
+            mustache.execute(writer, context);
+            return writer.toString();
+        };
+    }
+}
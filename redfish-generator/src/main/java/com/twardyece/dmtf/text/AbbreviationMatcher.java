@@ -0,0 +1,57 @@
+package com.twardyece.dmtf.text;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A trie of the special abbreviations, used to find the abbreviations contained in an identifier in a single pass over
+ * the identifier, instead of searching the identifier once for each abbreviation.
+ */
+class AbbreviationMatcher {
+    private final Node root = new Node();
+
+    AbbreviationMatcher(Iterable<String> abbreviations) {
+        int rank = 0;
+        for (String abbreviation : abbreviations) {
+            Node node = this.root;
+            for (int i = 0; i < abbreviation.length(); ++i) {
+                node = node.children.computeIfAbsent(abbreviation.charAt(i), (c) -> new Node());
+            }
+            node.abbreviation = abbreviation;
+            node.rank = rank++;
+        }
+    }
+
+    /**
+     * Find the longest abbreviation contained anywhere in the identifier. Where several abbreviations of that length
+     * are contained in the identifier, the abbreviation that came first in the list this matcher was built from wins.
+     * @param identifier The identifier to search
+     * @return The abbreviation, or null if the identifier does not contain any abbreviation.
+     */
+    String findLongest(String identifier) {
+        Node longest = null;
+        for (int start = 0; start < identifier.length(); ++start) {
+            Node node = this.root;
+            for (int i = start; i < identifier.length(); ++i) {
+                node = node.children.get(identifier.charAt(i));
+                if (null == node) {
+                    break;
+                }
+
+                if (null != node.abbreviation && (null == longest
+                        || node.abbreviation.length() > longest.abbreviation.length()
+                        || (node.abbreviation.length() == longest.abbreviation.length() && node.rank < longest.rank))) {
+                    longest = node;
+                }
+            }
+        }
+
+        return null != longest ? longest.abbreviation : null;
+    }
+
+    private static class Node {
+        private final Map<Character, Node> children = new HashMap<>();
+        private String abbreviation;
+        private int rank;
+    }
+}
@@ -1,16 +1,67 @@
 package com.twardyece.dmtf.text;
 
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 public class PascalCaseName implements ICaseConvertible, Comparable<PascalCaseName> {
-    ArrayList<IWord> words;
+    private final List<? extends IWord> words;
+    private final String value;
+    private final int hash;
     private static final Pattern pascalCase = Pattern.compile("([A-Z][a-z]+)|([A-Z]+)(?=[A-Z][a-z])|([A-Z0-9]+)");
+    private static final AbbreviationMatcher abbreviationMatcher =
+            new AbbreviationMatcher(Abbreviation.SPECIAL_ABBREVIATIONS.keySet());
+    // The same few thousand identifiers are parsed over and over, so the result of parsing each one is kept, including
+    // whether it failed to parse. Parsed words are immutable, so instances can share them.
+    private static final Map<String, Optional<List<IWord>>> parsedNames = new ConcurrentHashMap<>();
+    // Several times the few thousand names parsed by a run. In a long-running process (e.g. -watch), names that are no
+    // longer in the inputs would otherwise be kept forever, so the cache is emptied when it reaches this size, and the
+    // names still in use are parsed again.
+    private static final int MAX_PARSED_NAMES = 16384;
 
     public PascalCaseName(String name) {
+        this(getParsedName(name).orElseThrow(() -> new CaseConversionError("PascalCase", name)));
+    }
+
+    public PascalCaseName(ICaseConvertible originalCase) {
+        this(List.copyOf(originalCase.words()));
+    }
+
+    public PascalCaseName(Collection<? extends ICaseConvertible> identifiers) {
+        this(identifiers.stream().flatMap((identifier) -> identifier.words().stream()).toList());
+    }
+
+    private PascalCaseName(List<? extends IWord> words) {
+        this.words = words;
+        StringBuilder value = new StringBuilder();
+        for (IWord word : words) {
+            value.append(word.capitalize());
+        }
+        this.value = value.toString();
+        this.hash = this.value.hashCode();
+    }
+
+    private static Optional<List<IWord>> getParsedName(String name) {
+        Optional<List<IWord>> words = parsedNames.get(name);
+        if (null == words) {
+            if (MAX_PARSED_NAMES <= parsedNames.size()) {
+                parsedNames.clear();
+            }
+            words = parsedNames.computeIfAbsent(name, PascalCaseName::parse);
+        }
+        return words;
+    }
+
+    private static Optional<List<IWord>> parse(String name) {
+        try {
+            return Optional.of(Collections.unmodifiableList(parseWords(name)));
+        } catch (CaseConversionError e) {
+            return Optional.empty();
+        }
+    }
+
+    private static List<IWord> parseWords(String name) {
         // PascalCase is a little harder than other cases. Since PascalCase strings may contain substrings that are not
         // in PascalCase, e.g. abbreviations like "PCIe", we have to intentionally handle those before attempting to
         // parse the identifier(s) as PascalCase.
@@ -19,25 +70,12 @@ public class PascalCaseName implements ICaseConvertible, Comparable<PascalCaseNa
         int discoveredLength = 0;
         while (discoveredLength < name.length()) {
             String identifier = identifiers.get(identifiers.size() - 1);
-            int indexOfLargestAbbreviation = -1;
-            int lengthOfLargestAbbreviation = 0;
-            List<String> abbreviations = Abbreviation.SPECIAL_ABBREVIATIONS.keySet().stream().toList();
-            for (int i = 0; i < abbreviations.size(); ++i) {
-                String abbreviation = abbreviations.get(i);
-                int index = identifier.indexOf(abbreviation);
-                if (-1 != index && abbreviation.length() > lengthOfLargestAbbreviation) {
-                    indexOfLargestAbbreviation = i;
-                    lengthOfLargestAbbreviation = abbreviation.length();
-                }
-            }
-
-            String abbreviation;
-            if (-1 == indexOfLargestAbbreviation) {
+            String abbreviation = abbreviationMatcher.findLongest(identifier);
+            if (null == abbreviation) {
                 // This identifier does not contain an abbreviation.
                 discoveredLength += identifier.length();
                 continue;
             } else {
-                abbreviation = abbreviations.get(indexOfLargestAbbreviation);
                 discoveredLength += abbreviation.length();
             }
 
@@ -86,47 +124,38 @@ public class PascalCaseName implements ICaseConvertible, Comparable<PascalCaseNa
             }
         }
 
-        this.words = new ArrayList<>();
+        List<IWord> words = new ArrayList<>();
         for (String identifier : identifiers) {
             // Each identifier is either a special abbreviation, or a PascalCased string.
             if (Abbreviation.SPECIAL_ABBREVIATIONS.containsKey(identifier)) {
-                this.words.add(Abbreviation.SPECIAL_ABBREVIATIONS.get(identifier));
+                words.add(Abbreviation.SPECIAL_ABBREVIATIONS.get(identifier));
             } else {
-                parsePascalCaseName(identifier);
+                parsePascalCaseName(identifier, words);
             }
         }
+        return words;
     }
 
-    private void parsePascalCaseName(String name) {
+    private static void parsePascalCaseName(String name, List<IWord> words) {
         Matcher matcher = pascalCase.matcher(name);
 
         while (matcher.find()) {
             if (null != matcher.group(1)) {
-                this.words.add(new Word(matcher.group(1)));
+                words.add(new Word(matcher.group(1)));
             } else if (null != matcher.group(2)) {
-                this.words.add(new Abbreviation(matcher.group(2)));
+                words.add(new Abbreviation(matcher.group(2)));
             } else if (null != matcher.group(3)) {
-                this.words.add(new Abbreviation(matcher.group(3)));
+                words.add(new Abbreviation(matcher.group(3)));
             } else {
                 throw new CaseConversionError("PascalCase", name);
             }
         }
 
-        if (this.words.size() == 0 && !"".equals(name)) {
+        if (words.size() == 0 && !"".equals(name)) {
             throw new CaseConversionError("PascalCase", name);
         }
     }
 
-    public PascalCaseName(ICaseConvertible originalCase) {
-        this.words = new ArrayList<>();
-        this.words.addAll(originalCase.words());
-    }
-
-    public PascalCaseName(Collection<? extends ICaseConvertible> identifiers) {
-        this.words = new ArrayList<>();
-        identifiers.stream().forEach((identifier) -> this.words.addAll(identifier.words()));
-    }
-
     @Override
     public Collection<? extends IWord> words() {
         return this.words;
@@ -134,22 +163,20 @@ public class PascalCaseName implements ICaseConvertible, Comparable<PascalCaseNa
 
     @Override
     public String toString() {
-        String value = "";
-        for (IWord word : this.words) {
-            value += word.capitalize();
-        }
-        return value;
+        return this.value;
     }
 
     @Override
     public int compareTo(PascalCaseName o) {
-        return this.toString().compareTo(o.toString());
+        return this.value.compareTo(o.value);
     }
 
     @Override
     public boolean equals(Object o) {
-        if (o instanceof PascalCaseName) {
-            return this.toString().equals(o.toString());
+        if (this == o) {
+            return true;
+        } else if (o instanceof PascalCaseName other) {
+            return this.hash == other.hash && this.value.equals(other.value);
         } else {
             return false;
         }
@@ -157,6 +184,6 @@ public class PascalCaseName implements ICaseConvertible, Comparable<PascalCaseNa
 
     @Override
     public int hashCode() {
-        return this.toString().hashCode();
+        return this.hash;
     }
 }
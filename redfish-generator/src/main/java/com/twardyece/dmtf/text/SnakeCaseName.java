@@ -2,24 +2,32 @@ package com.twardyece.dmtf.text;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 public class SnakeCaseName implements ICaseConvertible, Comparable<SnakeCaseName> {
-    private ArrayList<IWord> words;
+    private final List<? extends IWord> words;
+    private final String value;
+    private final int hash;
 
     private static final Pattern snakeCase = Pattern.compile("([#a-z0-9]+)");
     private static final Pattern uppercase = Pattern.compile("[A-Z]");
 
     public SnakeCaseName(ICaseConvertible originalCase) {
-        this.words = new ArrayList<>();
-        this.words.addAll(originalCase.words());
+        this(List.copyOf(originalCase.words()));
     }
 
     public SnakeCaseName(Collection<? extends ICaseConvertible> identifiers) {
-        this.words = new ArrayList<>();
-        identifiers.stream().forEach((identifier) -> this.words.addAll(identifier.words()));
+        this(identifiers.stream().flatMap((identifier) -> identifier.words().stream()).toList());
+    }
+
+    private SnakeCaseName(List<? extends IWord> words) {
+        this.words = words;
+        this.value = join(words);
+        this.hash = this.value.hashCode();
     }
 
     public SnakeCaseName(String name) {
@@ -30,18 +38,22 @@ public class SnakeCaseName implements ICaseConvertible, Comparable<SnakeCaseName
             throw new CaseConversionError("snake_case", name);
         }
 
-        this.words = new ArrayList<>();
+        List<IWord> words = new ArrayList<>();
         matcher = snakeCase.matcher(name);
         while (matcher.find()) {
             if (null == matcher.group(1)) {
                 throw new CaseConversionError("snake_case", name);
             }
-            this.words.add(new Word(matcher.group(1)));
+            words.add(new Word(matcher.group(1)));
         }
 
-        if (this.words.size() == 0 && !"".equals(name)) {
+        if (words.size() == 0 && !"".equals(name)) {
             throw new CaseConversionError("snake_case", name);
         }
+
+        this.words = Collections.unmodifiableList(words);
+        this.value = join(words);
+        this.hash = this.value.hashCode();
     }
 
     public String toUpperCase() {
@@ -56,23 +68,29 @@ public class SnakeCaseName implements ICaseConvertible, Comparable<SnakeCaseName
 
     @Override
     public String toString() {
-        ArrayList<String> words = new ArrayList<>();
-        for (IWord word : this.words) {
-            words.add(word.toLowerCase());
+        return this.value;
+    }
+
+    private static String join(List<? extends IWord> words) {
+        ArrayList<String> values = new ArrayList<>();
+        for (IWord word : words) {
+            values.add(word.toLowerCase());
         }
 
-        return String.join("_", words);
+        return String.join("_", values);
     }
 
     @Override
     public int compareTo(SnakeCaseName o) {
-        return this.toString().compareTo(o.toString());
+        return this.value.compareTo(o.value);
     }
 
     @Override
     public boolean equals(Object o) {
-        if (o instanceof SnakeCaseName) {
-            return this.toString().equals(o.toString());
+        if (this == o) {
+            return true;
+        } else if (o instanceof SnakeCaseName other) {
+            return this.hash == other.hash && this.value.equals(other.value);
         } else {
             return false;
         }
@@ -80,6 +98,6 @@ public class SnakeCaseName implements ICaseConvertible, Comparable<SnakeCaseName
 
     @Override
     public int hashCode() {
-        return this.toString().hashCode();
+        return this.hash;
     }
 }